@@ -0,0 +1,155 @@
+package benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Small timing harness for the benchmarks in this package.
+ *
+ * Each benchmark body is run for a few warmup iterations (so the JIT settles) and then for a few
+ * measured iterations. The score is the average time per operation, plus the bytes allocated per
+ * operation by the calling thread, which is what we look at to catch allocation regressions.
+ *
+ * Run a benchmark class directly with java, for example:
+ * java -cp bin benchmarks.HashTableBenchmark
+ */
+public class BenchmarkRunner {
+
+	private static final int WARMUP_ITERATIONS = 5;
+	private static final int MEASUREMENT_ITERATIONS = 5;
+	// Minimum time of a single iteration, short bodies are repeated until it's reached
+	private static final long MIN_ITERATION_NANOS = 200_000_000L;
+
+	private static final com.sun.management.ThreadMXBean THREADS =
+			(com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+	/**
+	 * Benchmarks store their results here so the JIT can't throw the work away.
+	 */
+	public static volatile Object blackhole;
+
+	/**
+	 * Code being measured. Each call must perform the number of operations given to run().
+	 */
+	public interface Body {
+		void run();
+	}
+
+	/**
+	 * Prints the header of the results table.
+	 */
+	public static void printHeader() {
+		System.out.println(String.format("%-45s %12s %14s %14s %12s %12s", "Benchmark", "(size)", "ns/op", "ops/s", "B/op", "alloc MB/s"));
+	}
+
+	/**
+	 * Measures body and prints one row of results.
+	 *
+	 * @param name - name of the benchmark
+	 * @param size - problem size (only used for printing)
+	 * @param operations - number of operations a single call of body performs
+	 * @param body - code to measure
+	 */
+	public static void run(String name, long size, long operations, Body body) {
+		run(name, size, operations, WARMUP_ITERATIONS, MEASUREMENT_ITERATIONS, body);
+	}
+
+	/**
+	 * Measures body with the given number of iterations and prints one row of results.
+	 * Useful for bodies that take seconds, where the default iterations would take too long.
+	 *
+	 * @param name - name of the benchmark
+	 * @param size - problem size (only used for printing)
+	 * @param operations - number of operations a single call of body performs
+	 * @param warmups - iterations run before measuring
+	 * @param measurements - iterations measured
+	 * @param body - code to measure
+	 */
+	public static void run(String name, long size, long operations, int warmups, int measurements, Body body) {
+		measure(name, size, operations, warmups, measurements, (calls, totals) -> {
+			long bytesBefore = allocatedBytes();
+			long start = System.nanoTime();
+			for (int i = 0; i < calls; i++) body.run();
+			totals.nanos += System.nanoTime() - start;
+			totals.bytes += allocatedBytes() - bytesBefore;
+		});
+	}
+
+	/**
+	 * Measures body, giving each call a fresh state made by setup, and prints one row of results.
+	 * Only body is timed, which is what bodies that use up their state (like running a factory) need.
+	 *
+	 * @param name - name of the benchmark
+	 * @param size - problem size (only used for printing)
+	 * @param operations - number of operations a single call of body performs
+	 * @param warmups - iterations run before measuring
+	 * @param measurements - iterations measured
+	 * @param setup - makes the state of one call, not timed
+	 * @param body - code to measure
+	 */
+	public static <T> void run(String name, long size, long operations, int warmups, int measurements, Supplier<T> setup, Consumer<T> body) {
+		measure(name, size, operations, warmups, measurements, (calls, totals) -> {
+			for (int i = 0; i < calls; i++) {
+				T state = setup.get();
+				long bytesBefore = allocatedBytes();
+				long start = System.nanoTime();
+				body.accept(state);
+				totals.nanos += System.nanoTime() - start;
+				totals.bytes += allocatedBytes() - bytesBefore;
+			}
+		});
+	}
+
+	private static void measure(String name, long size, long operations, int warmups, int measurements, Iteration iteration) {
+		int calls = 1;
+		for (int i = 0; i < warmups; i++) {
+			Totals totals = new Totals();
+			iteration.run(calls, totals);
+			// Grow the number of calls until an iteration is long enough to time reliably
+			while(totals.nanos < MIN_ITERATION_NANOS && calls < Integer.MAX_VALUE / 2) {
+				calls *= 2;
+				totals = new Totals();
+				iteration.run(calls, totals);
+			}
+		}
+
+		Totals totals = new Totals();
+		for (int i = 0; i < measurements; i++) {
+			iteration.run(calls, totals);
+		}
+
+		double totalOps = (double) operations * calls * measurements;
+		double nsPerOp = totals.nanos / totalOps;
+		System.out.println(String.format("%-45s %12d %14.3f %14.0f %12.1f %12.1f",
+				name, size, nsPerOp, 1e9 / nsPerOp, totals.bytes / totalOps, totals.bytes * 1e9 / totals.nanos / (1 << 20)));
+	}
+
+	/**
+	 * Prints a row for a benchmark that wasn't run, with the reason instead of the results.
+	 *
+	 * @param name - name of the benchmark
+	 * @param size - problem size
+	 * @param reason - why it was skipped
+	 */
+	public static void skip(String name, long size, String reason) {
+		System.out.println(String.format("%-45s %12d %14s", name, size, reason));
+	}
+
+	private static long allocatedBytes() {
+		return THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	/**
+	 * Runs calls calls of a benchmark, adding their time and allocation to totals.
+	 */
+	private interface Iteration {
+		void run(int calls, Totals totals);
+	}
+
+	private static class Totals {
+		long nanos;
+		long bytes;
+	}
+
+}
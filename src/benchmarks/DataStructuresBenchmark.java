@@ -0,0 +1,268 @@
+package benchmarks;
+
+import java.util.ListIterator;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+import data_structures.ArrayList;
+import data_structures.ArrayStack;
+import data_structures.BasicHashFunction;
+import data_structures.DoublyLinkedList;
+import data_structures.HashTableSC;
+import data_structures.LinkedStack;
+import data_structures.ListQueue;
+import data_structures.SinglyLinkedList;
+import interfaces.List;
+import interfaces.Map;
+import interfaces.Queue;
+import interfaces.Stack;
+
+/**
+ * Measures the basic operations of the data_structures package for each of the given sizes:
+ * add, get, remove(0), iteration and add+clear on the lists, addFirst/removeFirst on SinglyLinkedList,
+ * get near the end and removing/adding through the list iterator on DoublyLinkedList,
+ * push/pop on LinkedStack and ArrayStack (also popAll), enqueue/dequeue on ListQueue,
+ * and put, get, remove and getKeys on HashTableSC. B/op and alloc MB/s show the allocation rate.
+ *
+ * Operations that walk the structure (like get on a linked list) are skipped when a single call of the
+ * benchmark would visit more than WORK_LIMIT elements, since they would take hours at 10^7 elements.
+ * The biggest sizes need a large heap (-Xmx).
+ *
+ * Usage: java benchmarks.DataStructuresBenchmark [size...]
+ * For example: java -Xmx8g benchmarks.DataStructuresBenchmark 10 1000 100000 10000000
+ */
+public class DataStructuresBenchmark {
+
+	// Elements a single call of a benchmark body may visit
+	private static final long WORK_LIMIT = 1_000_000_000L;
+	// Random positions read by the get benchmarks
+	private static final int SAMPLES = 1000;
+
+	/**
+	 * A list implementation and which of its operations take time proportional to its size.
+	 */
+	private static class ListCase {
+		String name;
+		Supplier<List<Integer>> factory;
+		boolean linearAdd;
+		boolean linearGet;
+		boolean linearRemoveFirst;
+
+		ListCase(String name, Supplier<List<Integer>> factory, boolean linearAdd, boolean linearGet, boolean linearRemoveFirst) {
+			this.name = name;
+			this.factory = factory;
+			this.linearAdd = linearAdd;
+			this.linearGet = linearGet;
+			this.linearRemoveFirst = linearRemoveFirst;
+		}
+	}
+
+	private static final ListCase[] LISTS = {
+			new ListCase("ArrayList", ArrayList::new, false, false, true),
+			new ListCase("SinglyLinkedList", SinglyLinkedList::new, false, true, false),
+			new ListCase("DoublyLinkedList", DoublyLinkedList::new, false, true, false) };
+
+	private static Integer[] values;
+
+	public static void main(String[] args) {
+		int[] sizes = args.length == 0 ? new int[] {10, 1_000, 100_000} : new int[args.length];
+		for (int i = 0; i < args.length; i++) sizes[i] = Integer.parseInt(args[i]);
+
+		// Boxed once so boxing doesn't show up in the allocation rates
+		int maxSize = 0;
+		for (int size : sizes) maxSize = Math.max(maxSize, size);
+		values = new Integer[maxSize];
+		for (int i = 0; i < maxSize; i++) values[i] = i;
+
+		BenchmarkRunner.printHeader();
+		for (int size : sizes) {
+			for (ListCase list : LISTS) benchmarkList(list, size);
+			benchmarkSinglyLinkedList(size);
+			benchmarkDoublyLinkedList(size);
+			benchmarkStack(size);
+			benchmarkQueue(size);
+			benchmarkHashTable(size);
+		}
+	}
+
+	private static void benchmarkList(ListCase list, int size) {
+		run(list.name + ".add", size, size, list.linearAdd, () -> {
+			List<Integer> result = list.factory.get();
+			for (int i = 0; i < size; i++) result.add(values[i]);
+			BenchmarkRunner.blackhole = result;
+		});
+
+		// Filling by adding one by one is what the add benchmark measures, skip the rest if that is too slow
+		if(list.linearAdd && (long) size * size / 2 > WORK_LIMIT) {
+			BenchmarkRunner.skip(list.name + ".get/remove(0)/iterate", size, "too slow");
+			return;
+		}
+		List<Integer> filled = list.factory.get();
+		for (int i = 0; i < size; i++) filled.add(values[i]);
+		int samples = Math.min(size, SAMPLES);
+		int[] positions = new int[samples];
+		SplittableRandom random = new SplittableRandom(size);
+		for (int i = 0; i < samples; i++) positions[i] = random.nextInt(size);
+		run(list.name + ".get", size, samples, list.linearGet, () -> {
+			int sum = 0;
+			for (int position : positions) sum += filled.get(position);
+			BenchmarkRunner.blackhole = sum;
+		});
+
+		// Putting the element back at the end keeps the size the same from call to call
+		run(list.name + ".remove(0)+add", size, samples, list.linearRemoveFirst, () -> {
+			for (int i = 0; i < samples; i++) {
+				Integer first = filled.first();
+				filled.remove(0);
+				filled.add(first);
+			}
+		});
+
+		run(list.name + ".iterate", size, size, false, () -> {
+			int sum = 0;
+			for (Integer value : filled) sum += value;
+			BenchmarkRunner.blackhole = sum;
+		});
+
+		// Compared with the add benchmark it shows what clearing costs per element
+		run(list.name + ".add+clear", size, size, list.linearAdd, () -> {
+			List<Integer> result = list.factory.get();
+			for (int i = 0; i < size; i++) result.add(values[i]);
+			result.clear();
+			BenchmarkRunner.blackhole = result;
+		});
+	}
+
+	private static void benchmarkSinglyLinkedList(int size) {
+		run("SinglyLinkedList.addFirst+removeFirst", size, 2L * size, false, () -> {
+			SinglyLinkedList<Integer> list = new SinglyLinkedList<>();
+			for (int i = 0; i < size; i++) list.addFirst(values[i]);
+			int sum = 0;
+			while(!list.isEmpty()) sum += list.removeFirst();
+			BenchmarkRunner.blackhole = sum;
+		});
+	}
+
+	private static void benchmarkDoublyLinkedList(int size) {
+		DoublyLinkedList<Integer> filled = new DoublyLinkedList<>();
+		for (int i = 0; i < size; i++) filled.add(values[i]);
+		int samples = Math.min(size, SAMPLES);
+		int[] positions = new int[samples];
+		SplittableRandom random = new SplittableRandom(size);
+		for (int i = 0; i < samples; i++) positions[i] = size - 1 - random.nextInt(Math.min(size, 10));
+		run("DoublyLinkedList.get(last 10)", size, samples, false, () -> {
+			int sum = 0;
+			for (int position : positions) sum += filled.get(position);
+			BenchmarkRunner.blackhole = sum;
+		});
+
+		// Takes out every element and puts it back in the same place, scored per element
+		run("DoublyLinkedList.listIterator.remove+add", size, size, false, () -> {
+			ListIterator<Integer> iterator = filled.listIterator();
+			while(iterator.hasNext()) {
+				Integer value = iterator.next();
+				iterator.remove();
+				iterator.add(value);
+			}
+		});
+	}
+
+	private static void benchmarkStack(int size) {
+		run("LinkedStack.push+pop", size, 2L * size, false, () -> {
+			Stack<Integer> stack = new LinkedStack<>();
+			for (int i = 0; i < size; i++) stack.push(values[i]);
+			int sum = 0;
+			while(!stack.isEmpty()) sum += stack.pop();
+			BenchmarkRunner.blackhole = sum;
+		});
+
+		// The same stack every call, like the factory's production bin from day to day
+		ArrayStack<Integer> reused = new ArrayStack<>();
+		run("ArrayStack.push+pop", size, 2L * size, false, () -> {
+			for (int i = 0; i < size; i++) reused.push(values[i]);
+			int sum = 0;
+			while(!reused.isEmpty()) sum += reused.pop();
+			BenchmarkRunner.blackhole = sum;
+		});
+
+		run("ArrayStack.push+popAll", size, 2L * size, false, () -> {
+			for (int i = 0; i < size; i++) reused.push(values[i]);
+			int[] sum = new int[1];
+			reused.popAll(value -> sum[0] += value);
+			BenchmarkRunner.blackhole = sum[0];
+		});
+	}
+
+	private static void benchmarkQueue(int size) {
+		run("ListQueue.enqueue+dequeue", size, 2L * size, false, () -> {
+			Queue<Integer> queue = new ListQueue<>();
+			for (int i = 0; i < size; i++) queue.enqueue(values[i]);
+			int sum = 0;
+			while(!queue.isEmpty()) sum += queue.dequeue();
+			BenchmarkRunner.blackhole = sum;
+		});
+	}
+
+	private static void benchmarkHashTable(int size) {
+		// Small maps like the requested parts of an order, scored (time and bytes) per map
+		BasicHashFunction hash = new BasicHashFunction();
+		run("HashTableSC.new+put(4)", size, size, false, () -> {
+			for (int i = 0; i < size; i++) {
+				Map<Integer, Integer> table = new HashTableSC<>(hash);
+				for (int j = 0; j < 4; j++) table.put(values[(i + j) % size], j);
+				BenchmarkRunner.blackhole = table;
+			}
+		});
+
+		run("HashTableSC.put", size, size, false, () -> {
+			Map<Integer, Integer> table = new HashTableSC<>(new BasicHashFunction());
+			for (int i = 0; i < size; i++) table.put(values[i], values[i]);
+			BenchmarkRunner.blackhole = table;
+		});
+
+		Map<Integer, Integer> filled = new HashTableSC<>(new BasicHashFunction());
+		for (int i = 0; i < size; i++) filled.put(values[i], values[i]);
+		run("HashTableSC.get", size, size, false, () -> {
+			int sum = 0;
+			for (int i = 0; i < size; i++) sum += filled.get(values[i]);
+			BenchmarkRunner.blackhole = sum;
+		});
+
+		// Every key is already there, so the value is replaced in place
+		run("HashTableSC.put(existing)", size, size, false, () -> {
+			for (int i = 0; i < size; i++) filled.put(values[i], values[i]);
+		});
+
+		// Counting occurrences, the factory's pattern for defectives and requested quantities
+		run("HashTableSC.merge", size, size, false, () -> {
+			Map<Integer, Integer> counts = new HashTableSC<>(new BasicHashFunction());
+			for (int i = 0; i < size; i++) counts.merge(values[i] & 1023, 1, Integer::sum);
+			BenchmarkRunner.blackhole = counts;
+		});
+
+		// Putting the key back keeps the size the same from call to call
+		run("HashTableSC.remove+put", size, size, false, () -> {
+			for (int i = 0; i < size; i++) {
+				filled.remove(values[i]);
+				filled.put(values[i], values[i]);
+			}
+		});
+
+		// Scored per key returned
+		run("HashTableSC.getKeys", size, size, false, () -> {
+			BenchmarkRunner.blackhole = filled.getKeys();
+		});
+	}
+
+	/**
+	 * Runs the benchmark unless it is linear per operation and would visit more than WORK_LIMIT elements.
+	 */
+	private static void run(String name, int size, long operations, boolean linear, BenchmarkRunner.Body body) {
+		if(linear && operations * size > WORK_LIMIT) {
+			BenchmarkRunner.skip(name, size, "too slow");
+			return;
+		}
+		BenchmarkRunner.run(name, size, operations, body);
+	}
+
+}
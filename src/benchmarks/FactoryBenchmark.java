@@ -0,0 +1,99 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import data_structures.ArrayList;
+import interfaces.List;
+import main.CarPartFactory;
+import main.Order;
+
+/**
+ * Runs a whole factory on a synthetic workload made by WorkloadGenerator.
+ *
+ * The simulation benchmarks time runFactory with each engine (minute by minute, event driven and parallel)
+ * on a factory without orders and are scored per machine-minute. The processOrders benchmarks time only
+ * processing the orders after the simulation, and processing them again after some restocking, and are
+ * scored per order. Every call works on a fresh copy of
+ * the factory (CarPartFactory.replicate), made outside of the timed part.
+ *
+ * Usage: java benchmarks.FactoryBenchmark [machines] [orders] [days] [minutes] [maxPeriod] [chanceOfDefective] [partsPerOrder]
+ * For example, from the 20 machine sample size: java benchmarks.FactoryBenchmark 20 100
+ * up to: java -Xmx32g benchmarks.FactoryBenchmark 100000 10000000
+ */
+public class FactoryBenchmark {
+
+	private static final long SEED = 2024;
+
+	public static void main(String[] args) throws IOException {
+		int machines = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+		long orders = args.length > 1 ? Long.parseLong(args[1]) : 100;
+		int days = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+		int minutes = args.length > 3 ? Integer.parseInt(args[3]) : 480;
+		int maxPeriod = args.length > 4 ? Integer.parseInt(args[4]) : 10;
+		int chanceOfDefective = args.length > 5 ? Integer.parseInt(args[5]) : 5;
+		int partsPerOrder = args.length > 6 ? Integer.parseInt(args[6]) : 4;
+
+		Path folder = Files.createTempDirectory("factory");
+		Path parts = folder.resolve("parts.csv");
+		Path orderFile = folder.resolve("orders.csv");
+		CarPartFactory template;
+		try {
+			WorkloadGenerator.writeParts(parts, machines, maxPeriod, chanceOfDefective, SEED);
+			WorkloadGenerator.writeOrders(orderFile, orders, machines, partsPerOrder, SEED);
+			template = new CarPartFactory(orderFile.toString(), parts.toString(), SEED);
+		} finally {
+			Files.deleteIfExists(parts);
+			Files.deleteIfExists(orderFile);
+			Files.delete(folder);
+		}
+
+		long machineMinutes = (long) machines * days * minutes;
+		BenchmarkRunner.printHeader();
+		simulation(template, "ticks", machines, machineMinutes, days, minutes, false, false);
+		simulation(template, "events", machines, machineMinutes, days, minutes, true, false);
+		simulation(template, "parallel", machines, machineMinutes, days, minutes, false, true);
+
+		BenchmarkRunner.run("CarPartFactory.processOrders", orders, orders, 1, 3, () -> {
+			CarPartFactory factory = template.replicate(SEED);
+			factory.setEventDriven(true);
+			List<Order> allOrders = factory.getOrders();
+			factory.setOrders(new ArrayList<>());
+			factory.runFactory(days, minutes);
+			factory.setOrders(allOrders);
+			return factory;
+		}, factory -> {
+			factory.processOrders();
+			BenchmarkRunner.blackhole = factory;
+		});
+
+		// Processing again after one more part of each type arrives only looks at the orders those parts can complete
+		BenchmarkRunner.run("CarPartFactory.processOrders.restock", orders, orders, 1, 3, () -> {
+			CarPartFactory factory = template.replicate(SEED);
+			factory.setEventDriven(true);
+			factory.runFactory(days, minutes);
+			factory.processOrders();
+			factory.getInventory().forEach((partId, bin) -> bin.add(factory.getPartCatalog().get(partId)));
+			return factory;
+		}, factory -> {
+			factory.processOrders();
+			BenchmarkRunner.blackhole = factory;
+		});
+	}
+
+	private static void simulation(CarPartFactory template, String engine, int machines, long machineMinutes, int days, int minutes,
+			boolean eventDriven, boolean parallel) {
+		BenchmarkRunner.run("CarPartFactory.runFactory." + engine, machines, machineMinutes, 1, 3, () -> {
+			CarPartFactory factory = template.replicate(SEED);
+			factory.setOrders(new ArrayList<>());
+			factory.setEventDriven(eventDriven);
+			factory.setParallel(parallel);
+			return factory;
+		}, factory -> {
+			factory.runFactory(days, minutes);
+			BenchmarkRunner.blackhole = factory;
+		});
+	}
+
+}
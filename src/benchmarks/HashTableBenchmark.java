@@ -0,0 +1,43 @@
+package benchmarks;
+
+import data_structures.BasicHashFunction;
+import data_structures.HashTableSC;
+import interfaces.Map;
+
+/**
+ * Compares the resizing HashTableSC against a fixed size one (10 buckets, like the factory used to build).
+ *
+ * Usage: java benchmarks.HashTableBenchmark [size...]
+ */
+public class HashTableBenchmark {
+
+	private static final int FIXED_CAPACITY = 10;
+
+	public static void main(String[] args) {
+		int[] sizes = args.length == 0 ? new int[] {1_000, 40_000} : new int[args.length];
+		for (int i = 0; i < args.length; i++) sizes[i] = Integer.parseInt(args[i]);
+
+		BenchmarkRunner.printHeader();
+		for (int size : sizes) {
+			benchmark("fixed", size, Double.POSITIVE_INFINITY);
+			benchmark("resizing", size, HashTableSC.DEFAULT_LOAD_FACTOR);
+		}
+	}
+
+	private static void benchmark(String label, int size, double loadFactor) {
+		BenchmarkRunner.run("HashTableSC." + label + ".put", size, size, () -> {
+			Map<Integer, Integer> table = new HashTableSC<>(FIXED_CAPACITY, loadFactor, new BasicHashFunction());
+			for (int i = 0; i < size; i++) table.put(i, i);
+			BenchmarkRunner.blackhole = table;
+		});
+
+		Map<Integer, Integer> filled = new HashTableSC<>(FIXED_CAPACITY, loadFactor, new BasicHashFunction());
+		for (int i = 0; i < size; i++) filled.put(i, i);
+		BenchmarkRunner.run("HashTableSC." + label + ".get", size, size, () -> {
+			long sum = 0;
+			for (int i = 0; i < size; i++) sum += filled.get(i);
+			BenchmarkRunner.blackhole = sum;
+		});
+	}
+
+}
@@ -0,0 +1,70 @@
+package benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+import data_structures.InventoryBin;
+import interfaces.List;
+import main.CarPart;
+import main.CountingBin;
+import main.PartBatch;
+
+/**
+ * Measures how much heap each kind of inventory keeps per part: InventoryBin of CarPart objects,
+ * the columnar PartBatch and the counts only CountingBin. Each one is filled with the given number of
+ * parts (one new CarPart each, like storeInInventory receives them) and the heap in use is compared
+ * before and after, once the garbage collector has run. It also times adding the parts.
+ *
+ * Usage: java benchmarks.InventoryMemoryBenchmark [parts]
+ */
+public class InventoryMemoryBenchmark {
+
+	private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+	private static final int PART_ID = 1;
+	private static final String PART_NAME = "Engine Block";
+
+	public static void main(String[] args) {
+		int parts = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+		System.out.println(String.format("%-45s %12s %14s %14s", "Inventory", "(parts)", "bytes/part", "MB/million"));
+		memory("InventoryBin<CarPart>", parts, InventoryBin::new);
+		memory("PartBatch", parts, () -> new PartBatch(PART_ID, PART_NAME));
+		memory("CountingBin", parts, () -> new CountingBin(PART_ID));
+		System.out.println();
+
+		BenchmarkRunner.printHeader();
+		speed("InventoryBin<CarPart>.add", parts, InventoryBin::new);
+		speed("PartBatch.add", parts, () -> new PartBatch(PART_ID, PART_NAME));
+		speed("CountingBin.add", parts, () -> new CountingBin(PART_ID));
+	}
+
+	private static void memory(String name, int parts, Supplier<List<CarPart>> store) {
+		long before = usedHeap();
+		List<CarPart> inventory = fill(store.get(), parts);
+		long after = usedHeap();
+		double bytesPerPart = (double) (after - before) / parts;
+		System.out.println(String.format("%-45s %12d %14.1f %14.1f", name, inventory.size(), bytesPerPart, bytesPerPart * 1e6 / (1 << 20)));
+	}
+
+	private static void speed(String name, int parts, Supplier<List<CarPart>> store) {
+		BenchmarkRunner.run(name, parts, parts, () -> BenchmarkRunner.blackhole = fill(store.get(), parts));
+	}
+
+	private static List<CarPart> fill(List<CarPart> inventory, int parts) {
+		SplittableRandom random = new SplittableRandom(parts);
+		for (int i = 0; i < parts; i++) {
+			inventory.add(new CarPart(PART_ID, PART_NAME, 245 + 10 * random.nextDouble(), false));
+		}
+		return inventory;
+	}
+
+	private static long usedHeap() {
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return MEMORY.getHeapMemoryUsage().getUsed();
+	}
+
+}
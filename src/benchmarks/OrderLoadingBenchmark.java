@@ -0,0 +1,75 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import main.CarPartFactory;
+
+/**
+ * Compares reading a large orders file from start to end against memory mapping it and parsing
+ * it in parallel (CarPartFactory.setupOrders(path, mapped)). Scores are per order.
+ *
+ * The files are generated in the temporary folder and deleted afterwards. Every order is kept in memory,
+ * so the biggest sizes need a large heap (-Xmx). B/op only counts the calling thread, so it doesn't
+ * include what the pool threads allocate in the mapped runs. After the timings of each size it prints how
+ * much heap the loaded orders keep per order.
+ *
+ * Usage: java benchmarks.OrderLoadingBenchmark [megabytes...]
+ * For example: java -Xmx64g benchmarks.OrderLoadingBenchmark 100 1000 10000
+ */
+public class OrderLoadingBenchmark {
+
+	private static final int PART_TYPES = 100;
+	private static final long SEED = 2024;
+
+	public static void main(String[] args) throws IOException {
+		long[] sizes = args.length == 0 ? new long[] {100} : new long[args.length];
+		for (int i = 0; i < args.length; i++) sizes[i] = Long.parseLong(args[i]);
+
+		CarPartFactory factory = new CarPartFactory("input/orders.csv", "input/parts.csv");
+		BenchmarkRunner.printHeader();
+		for (long megabytes : sizes) {
+			Path file = Files.createTempFile("orders", ".csv");
+			try {
+				long orders = WorkloadGenerator.writeOrders(file, megabytes << 20, PART_TYPES, SEED);
+				benchmark(factory, "sequential", file, megabytes, orders, false);
+				benchmark(factory, "mapped", file, megabytes, orders, true);
+				retained(factory, file, orders);
+			} finally {
+				Files.delete(file);
+			}
+		}
+	}
+
+	private static void benchmark(CarPartFactory factory, String label, Path file, long megabytes, long orders, boolean mapped) {
+		BenchmarkRunner.run("CarPartFactory.setupOrders." + label + " (MB)", megabytes, orders, 1, 3, () -> {
+			factory.getOrders().clear();
+			try {
+				factory.setupOrders(file.toString(), mapped);
+			} catch (IOException e) {
+				throw new RuntimeException(e);
+			}
+			if(factory.getOrders().size() != orders) throw new IllegalStateException("Read " + factory.getOrders().size() + " orders");
+			BenchmarkRunner.blackhole = factory.getOrders();
+		});
+		factory.getOrders().clear();
+	}
+
+	private static void retained(CarPartFactory factory, Path file, long orders) throws IOException {
+		long before = usedHeap();
+		factory.setupOrders(file.toString(), false);
+		long after = usedHeap();
+		System.out.println(String.format("  %d orders keep %.1f bytes/order", orders, (double) (after - before) / orders));
+		factory.getOrders().clear();
+	}
+
+	private static long usedHeap() {
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+	}
+
+}
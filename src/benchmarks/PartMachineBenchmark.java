@@ -0,0 +1,36 @@
+package benchmarks;
+
+import main.CarPart;
+import main.PartMachine;
+
+/**
+ * Runs a day of production (produceCarPart on every machine every minute) and reports the
+ * time and allocation per machine-minute.
+ *
+ * Usage: java benchmarks.PartMachineBenchmark [machines] [minutes]
+ */
+public class PartMachineBenchmark {
+
+	public static void main(String[] args) {
+		int machineCount = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+		int minutes = args.length > 1 ? Integer.parseInt(args[1]) : 1440;
+
+		PartMachine[] machines = new PartMachine[machineCount];
+		for (int i = 0; i < machineCount; i++) {
+			CarPart part = new CarPart(i + 1, "Part " + (i + 1), 10 + i % 100, false);
+			machines[i] = new PartMachine(i + 1, part, 1 + i % 20, 0.5, 5 + i % 10);
+		}
+
+		BenchmarkRunner.printHeader();
+		BenchmarkRunner.run("PartMachine.produceCarPart", machineCount, (long) machineCount * minutes, () -> {
+			int produced = 0;
+			for (int j = 0; j < minutes; j++) {
+				for (PartMachine machine : machines) {
+					if (machine.produceCarPart() != null) produced++;
+				}
+			}
+			BenchmarkRunner.blackhole = produced;
+		});
+	}
+
+}
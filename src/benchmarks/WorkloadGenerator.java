@@ -0,0 +1,130 @@
+package benchmarks;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.SplittableRandom;
+
+/**
+ * Writes synthetic input files in the same format as the ones in the input folder, for the
+ * benchmarks that need inputs much bigger than those.
+ *
+ * The same seed always gives the same files.
+ *
+ * Usage: java benchmarks.WorkloadGenerator folder [machines] [orders] [maxPeriod] [chanceOfDefective] [partsPerOrder]
+ * writes folder/parts.csv and folder/orders.csv.
+ */
+public class WorkloadGenerator {
+
+	private static final String[] NAMES = {
+			"John Doe", "Jane Smith", "Alice Johnson", "Bob Brown", "Carlos Rivera", "Maria Torres" };
+	private static final int DEFAULT_PARTS_PER_ORDER = 4;
+	private static final int MAX_QUANTITY = 10;
+	private static final int MIN_WEIGHT = 10;
+	private static final int MAX_WEIGHT = 500;
+	private static final int MAX_WEIGHT_ERROR = 10;
+	private static final long SEED = 2024;
+
+	public static void main(String[] args) throws IOException {
+		if(args.length == 0) {
+			System.out.println("Usage: java benchmarks.WorkloadGenerator folder [machines] [orders] [maxPeriod] [chanceOfDefective] [partsPerOrder]");
+			return;
+		}
+		Path folder = Paths.get(args[0]);
+		int machines = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+		long orders = args.length > 2 ? Long.parseLong(args[2]) : 100;
+		int maxPeriod = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+		int chanceOfDefective = args.length > 4 ? Integer.parseInt(args[4]) : 5;
+		int partsPerOrder = args.length > 5 ? Integer.parseInt(args[5]) : DEFAULT_PARTS_PER_ORDER;
+
+		Files.createDirectories(folder);
+		writeParts(folder.resolve("parts.csv"), machines, maxPeriod, chanceOfDefective, SEED);
+		writeOrders(folder.resolve("orders.csv"), orders, machines, partsPerOrder, SEED);
+	}
+
+	/**
+	 * Writes a parts file with one machine per part, with ids from 1 to machines.
+	 *
+	 * @param path - file to write, replaced if it exists
+	 * @param machines - number of machines (and part types)
+	 * @param maxPeriod - periods are picked between 1 and maxPeriod
+	 * @param chanceOfDefective - chance of defective of every machine (one in chanceOfDefective parts)
+	 * @param seed - seed of the random weights and periods
+	 */
+	public static void writeParts(Path path, int machines, int maxPeriod, int chanceOfDefective, long seed) throws IOException {
+		SplittableRandom random = new SplittableRandom(seed);
+		try (BufferedWriter out = Files.newBufferedWriter(path, StandardCharsets.US_ASCII)) {
+			out.write("ID,PartName,Weight,WeightError,Period,ChanceOfDefective\n");
+			for (int id = 1; id <= machines; id++) {
+				out.write(id + ",Part " + id + "," + random.nextInt(MIN_WEIGHT, MAX_WEIGHT + 1) + ","
+						+ random.nextInt(MAX_WEIGHT_ERROR + 1) + "," + random.nextInt(1, maxPeriod + 1) + ","
+						+ chanceOfDefective + "\n");
+			}
+		}
+	}
+
+	/**
+	 * Writes an orders file with the given number of orders.
+	 *
+	 * @param path - file to write, replaced if it exists
+	 * @param orders - number of orders
+	 * @param partTypes - orders request parts with ids from 1 to partTypes
+	 * @param partsPerOrder - each order requests between 1 and partsPerOrder parts
+	 * @param seed - seed of the random orders
+	 */
+	public static void writeOrders(Path path, long orders, int partTypes, int partsPerOrder, long seed) throws IOException {
+		SplittableRandom random = new SplittableRandom(seed);
+		StringBuilder line = new StringBuilder();
+		try (BufferedWriter out = Files.newBufferedWriter(path, StandardCharsets.US_ASCII)) {
+			out.write("ID,Customer,RequestedParts\n");
+			for (long id = 1; id <= orders; id++) {
+				appendOrder(line, id, partTypes, partsPerOrder, random);
+				out.append(line);
+			}
+		}
+	}
+
+	/**
+	 * Writes an orders file of about targetBytes bytes (it stops at the first order that reaches the size).
+	 *
+	 * @param path - file to write, replaced if it exists
+	 * @param targetBytes - size of the file
+	 * @param partTypes - orders request parts with ids from 1 to partTypes
+	 * @param seed - seed of the random orders
+	 * @return (long) number of orders written
+	 */
+	public static long writeOrders(Path path, long targetBytes, int partTypes, long seed) throws IOException {
+		SplittableRandom random = new SplittableRandom(seed);
+		StringBuilder line = new StringBuilder();
+		long bytes = 0;
+		long orders = 0;
+		try (BufferedWriter out = Files.newBufferedWriter(path, StandardCharsets.US_ASCII)) {
+			out.write("ID,Customer,RequestedParts\n");
+			while(bytes < targetBytes) {
+				appendOrder(line, ++orders, partTypes, DEFAULT_PARTS_PER_ORDER, random);
+				out.append(line);
+				bytes += line.length();
+			}
+		}
+		return orders;
+	}
+
+	/**
+	 * Replaces the content of line with a random order, ending with a newline.
+	 */
+	private static void appendOrder(StringBuilder line, long id, int partTypes, int partsPerOrder, SplittableRandom random) {
+		line.setLength(0);
+		line.append(id).append(',').append(NAMES[random.nextInt(NAMES.length)]).append(',');
+		int parts = 1 + random.nextInt(partsPerOrder);
+		for (int i = 0; i < parts; i++) {
+			if(i > 0) line.append('-');
+			line.append('(').append(1 + random.nextInt(partTypes)).append(' ')
+				.append(1 + random.nextInt(MAX_QUANTITY)).append(')');
+		}
+		line.append('\n');
+	}
+
+}
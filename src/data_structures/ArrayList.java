@@ -1,5 +1,6 @@
 package data_structures;
 
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.function.Function;
@@ -24,6 +25,8 @@ public class ArrayList<E> implements List<E>{
 	   NOTE: size != elements.length, size is how many occupied spaces, 
 	   length is how many elements fit in the array */
 	private int size;
+	// Times the list was modified, see modificationCount()
+	private int modifications;
 	
 	/**
 	 * Default constructor. 
@@ -73,6 +76,7 @@ public class ArrayList<E> implements List<E>{
 		// Add value at end and increase size
 		this.elements[size++] = obj;
 //		this.size++;
+		this.modifications++;
 		
 	}
 	/**
@@ -97,6 +101,7 @@ public class ArrayList<E> implements List<E>{
 		this.elements[index] = obj;
 		// Increase size
 		this.size++;
+		this.modifications++;
 	}
 	/**
 	 * Expands the size of elements. 
@@ -146,6 +151,7 @@ public class ArrayList<E> implements List<E>{
 		E oldValue = this.elements[index];
 		// Update value
 		this.elements[index] = obj;
+		this.modifications++;
 		// Return old value
 		return oldValue;
 	}
@@ -171,6 +177,7 @@ public class ArrayList<E> implements List<E>{
 		this.elements[this.size-1]= null;
 		// Decrease size
 		this.size--;
+		this.modifications++;
 		return true;
 	}
 
@@ -219,6 +226,7 @@ public class ArrayList<E> implements List<E>{
 		for(int i = 0; i < this.size; i++)
 			this.elements[i] = null;
 		this.size = 0;
+		this.modifications++;
 		
 	}
 
@@ -302,6 +310,69 @@ public class ArrayList<E> implements List<E>{
 			throw new NoSuchElementException();
 		return this.elements[this.size-1];
 	}
+	/**
+	 * Adds every element of other at the end of the array.
+	 * The array grows at most once, and when other is also an ArrayList its elements are copied with System.arraycopy.
+	 * 
+	 * @param other - List whose elements we want to add
+	 */
+	@Override
+	public void addAll(List<? extends E> other) {
+		int otherSize = other.size();
+		this.ensureCapacity(this.size + otherSize);
+		if(other instanceof ArrayList) {
+			System.arraycopy(((ArrayList<? extends E>) other).elements, 0, this.elements, this.size, otherSize);
+			this.size += otherSize;
+			this.modifications++;
+			return;
+		}
+		for(E e : other)
+			this.elements[this.size++] = e;
+		this.modifications++;
+	}
+	
+	/**
+	 * Grows the array so it has at least minCapacity positions. 
+	 * Like reallocate() it at least doubles the length, so adding one by one afterwards stays cheap.
+	 * 
+	 * @param minCapacity - how many elements the array should be able to hold
+	 */
+	@Override
+	public void ensureCapacity(int minCapacity) {
+		if(minCapacity > this.elements.length)
+			this.elements = Arrays.copyOf(this.elements, Math.max(minCapacity, this.elements.length * 2));
+	}
+	
+	/**
+	 * Removes the elements from position from to position to - 1.
+	 * The values after them are shifted to the left in one System.arraycopy and the freed positions are emptied.
+	 * 
+	 * @param from - position of the first element to remove
+	 * @param to - position after the last element to remove
+	 */
+	@Override
+	public void removeRange(int from, int to) {
+		// Check bounds
+		if(from < 0 || to > this.size || from > to)
+			throw new IndexOutOfBoundsException();
+		System.arraycopy(this.elements, to, this.elements, from, this.size - to);
+		int newSize = this.size - (to - from);
+		// Null the positions that are no longer used
+		Arrays.fill(this.elements, newSize, this.size, null);
+		this.size = newSize;
+		this.modifications++;
+	}
+	
+	/**
+	 * Returns how many times the array was modified: every add, set, remove, clear, addAll and removeRange counts.
+	 * 
+	 * @return (int) the number of modifications so far
+	 */
+	@Override
+	public int modificationCount() {
+		return this.modifications;
+	}
+	
 	/**
 	 * Returns iterator object for the ArrayList
 	 * 
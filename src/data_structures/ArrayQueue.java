@@ -0,0 +1,161 @@
+package data_structures;
+
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+import interfaces.Queue;
+
+/**
+ * Implements the Queue interface using a circular array (ring buffer).
+ *
+ * front is the position of the oldest element and the elements continue to the right,
+ * wrapping around to position 0 when they reach the end of the array. Because of that
+ * enqueue and dequeue never shift or allocate anything, unless the array is full and
+ * has to grow.
+ *
+ * @author Eliel Cruz Felix
+ *
+ * @param <E>
+ */
+@SuppressWarnings("unchecked")
+public class ArrayQueue<E> implements Queue<E> {
+
+	private static final int DEFAULT_CAPACITY = 10;
+
+	private E[] elements;
+	// Position of the element that has been the longest in the Queue
+	private int front;
+	private int size;
+
+	/**
+	 * Creates an empty queue with the default capacity.
+	 */
+	public ArrayQueue() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates an empty queue that can hold initialCapacity elements before growing.
+	 * @param initialCapacity - length of the internal array
+	 */
+	public ArrayQueue(int initialCapacity) {
+		if(initialCapacity < 1)
+			throw new IllegalArgumentException("Capacity must be at least 1");
+		this.elements = (E[]) new Object[initialCapacity];
+		this.front = 0;
+		this.size = 0;
+	}
+
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	/**
+	 * Empties the queue. The internal array keeps its length.
+	 */
+	@Override
+	public void clear() {
+		// Help GC
+		for(int i = 0; i < this.size; i++)
+			this.elements[(this.front + i) % this.elements.length] = null;
+		this.front = 0;
+		this.size = 0;
+	}
+
+	/**
+	 * Adds obj after the last element. null values are allowed.
+	 */
+	@Override
+	public void enqueue(E obj) {
+		if(this.size == this.elements.length)
+			reallocate();
+		this.elements[(this.front + this.size) % this.elements.length] = obj;
+		this.size++;
+	}
+
+	@Override
+	public E dequeue() {
+		if(this.isEmpty())
+			throw new NoSuchElementException();
+		E oldValue = this.elements[this.front];
+		this.elements[this.front] = null;
+		this.front = (this.front + 1) % this.elements.length;
+		this.size--;
+		return oldValue;
+	}
+
+	/**
+	 * When the array is full the slot after the last element is the front itself, so obj just replaces
+	 * the front value and front moves one position. Otherwise it's dequeue() followed by enqueue(obj).
+	 */
+	@Override
+	public E shift(E obj) {
+		if(this.isEmpty())
+			throw new NoSuchElementException();
+		E oldValue = this.elements[this.front];
+		if(this.size < this.elements.length) {
+			this.elements[(this.front + this.size) % this.elements.length] = obj;
+			obj = null;
+		}
+		this.elements[this.front] = obj;
+		if(++this.front == this.elements.length)
+			this.front = 0;
+		return oldValue;
+	}
+
+	@Override
+	public E front() {
+		if(this.isEmpty())
+			throw new NoSuchElementException();
+		return this.elements[this.front];
+	}
+
+	/**
+	 * Removes up to max elements from the front, walking the array directly: the elements are in at most
+	 * two runs (from front to the end of the array, then from position 0), so there is no modulo per element.
+	 */
+	@Override
+	public int drainTo(Consumer<? super E> sink, int max) {
+		int removed = Math.min(Math.max(max, 0), this.size);
+		int firstRun = Math.min(removed, this.elements.length - this.front);
+		for(int i = this.front; i < this.front + firstRun; i++) {
+			E value = this.elements[i];
+			this.elements[i] = null;
+			sink.accept(value);
+		}
+		for(int i = 0; i < removed - firstRun; i++) {
+			E value = this.elements[i];
+			this.elements[i] = null;
+			sink.accept(value);
+		}
+		this.front = (this.front + removed) % this.elements.length;
+		this.size -= removed;
+		return removed;
+	}
+
+	/**
+	 * Doubles the internal array, unwrapping the elements so front goes back to position 0.
+	 */
+	private void reallocate() {
+		E[] temp = (E[]) new Object[this.elements.length * 2];
+		for(int i = 0; i < this.size; i++)
+			temp[i] = this.elements[(this.front + i) % this.elements.length];
+		this.elements = temp;
+		this.front = 0;
+	}
+
+	@Override
+	public String toString() {
+		String str = "{ ";
+		for(int i = 0; i < this.size; i++)
+			str += this.elements[(this.front + i) % this.elements.length] + " ";
+		return str + "}";
+	}
+
+}
@@ -0,0 +1,149 @@
+package data_structures;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+import interfaces.Stack;
+
+/**
+ * Implements the Stack interface using an array. The bottom of the Stack is at position 0
+ * and the top at position size - 1, so push and pop never allocate anything unless the array
+ * is full and has to grow (it doubles).
+ *
+ * The array never shrinks: popping or clearing keeps its length, so a Stack that is filled and
+ * emptied over and over (like the factory's production bin every day) only grows during the first
+ * rounds and then reuses the same array. capacity() is the high-water mark of the size.
+ *
+ * @author Eliel Cruz Felix
+ *
+ * @param <E>
+ */
+@SuppressWarnings("unchecked")
+public class ArrayStack<E> implements Stack<E> {
+
+	private static final int DEFAULT_CAPACITY = 10;
+
+	private E[] elements;
+	private int size;
+
+	/**
+	 * Creates an empty stack with the default capacity.
+	 */
+	public ArrayStack() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates an empty stack that can hold initialCapacity elements before growing.
+	 * @param initialCapacity - length of the internal array
+	 */
+	public ArrayStack(int initialCapacity) {
+		if(initialCapacity < 1)
+			throw new IllegalArgumentException("Capacity must be at least 1");
+		this.elements = (E[]) new Object[initialCapacity];
+		this.size = 0;
+	}
+
+	/**
+	 * Returns how many elements the stack can hold before its array has to grow.
+	 * @return (int) length of the internal array
+	 */
+	public int capacity() {
+		return this.elements.length;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	@Override
+	public E top() {
+		if(this.isEmpty())
+			throw new NoSuchElementException();
+		return this.elements[this.size - 1];
+	}
+
+	@Override
+	public E pop() {
+		if(this.isEmpty())
+			throw new NoSuchElementException();
+		E topValue = this.elements[--this.size];
+		// Help GC
+		this.elements[this.size] = null;
+		return topValue;
+	}
+
+	/**
+	 * Inserts obj at the top of the Stack. null values are not allowed, like in LinkedStack.
+	 */
+	@Override
+	public void push(E obj) {
+		if(obj == null)
+			throw new IllegalArgumentException();
+		if(this.size == this.elements.length)
+			this.elements = Arrays.copyOf(this.elements, this.elements.length * 2);
+		this.elements[this.size++] = obj;
+	}
+
+	/**
+	 * Copies the range with System.arraycopy after checking it for null values, growing the array at most once.
+	 */
+	@Override
+	public void pushAll(E[] values, int from, int to) {
+		if(from < 0 || from > to || to > values.length)
+			throw new IndexOutOfBoundsException();
+		for(int i = from; i < to; i++)
+			if(values[i] == null)
+				throw new IllegalArgumentException();
+		int count = to - from;
+		if(this.size + count > this.elements.length)
+			this.elements = Arrays.copyOf(this.elements, Math.max(this.size + count, this.elements.length * 2));
+		System.arraycopy(values, from, this.elements, this.size, count);
+		this.size += count;
+	}
+
+	/**
+	 * Walks the array from the top to the bottom instead of checking the size on every element.
+	 * Each element is taken out before action sees it, so if action throws, the elements below it stay in the Stack.
+	 */
+	@Override
+	public int popAll(Consumer<? super E> action) {
+		int popped = this.size;
+		for(int i = this.size - 1; i >= 0; i--) {
+			E value = this.elements[i];
+			this.elements[i] = null;
+			this.size = i;
+			action.accept(value);
+		}
+		return popped;
+	}
+
+	/**
+	 * Empties the Stack. The internal array keeps its length.
+	 */
+	@Override
+	public void clear() {
+		// Help GC
+		Arrays.fill(this.elements, 0, this.size, null);
+		this.size = 0;
+	}
+
+	/**
+	 * Returns the elements from the top to the bottom in the format { A B C }.
+	 */
+	@Override
+	public String toString() {
+		String str = "{ ";
+		for(int i = this.size - 1; i >= 0; i--)
+			str += this.elements[i] + " ";
+		return str + "}";
+	}
+
+}
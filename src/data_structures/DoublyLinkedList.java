@@ -1,12 +1,18 @@
 package data_structures;
 
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
+import java.util.ListIterator;
 import java.util.NoSuchElementException;
 
 import interfaces.List;
 
 /**
  * List implementation that uses Double nodes as well as dummy header and trailer.
+ * 
+ * Positions are reached walking from whichever end is closer, so the first and last elements
+ * are O(1) and no position costs more than size/2 steps. The list iterator keeps a cursor
+ * between two nodes, so removing, adding or replacing elements while iterating is O(1).
  * @author Gretchen Bonilla
  *
  * @param <E>
@@ -66,23 +72,34 @@ public class DoublyLinkedList<E> implements List<E>{
 			this.element = null;
 		}
 	}
-	private class LinkedListIterator<E> implements Iterator<E> {
-		// For keeping track of the current node of the list
-		private Node<E> currentNode;
-		
-		@SuppressWarnings("unchecked")
-		public LinkedListIterator() {
-			// We start at the head node
-			currentNode = (Node<E>) header.getNext();
+	/**
+	 * Iterator that can move in both directions. The cursor sits between the node returned by
+	 * previous() and the one returned by next(), so remove, set and add only update a few references.
+	 */
+	private class LinkedListIterator implements ListIterator<E> {
+		// Node that next() returns (trailer when the cursor is at the end)
+		private Node<E> nextNode;
+		// Position of nextNode
+		private int nextIndex;
+		// Node returned by the last call to next() or previous(), null if remove() or add() was called after it
+		private Node<E> lastReturned;
+		// Changes the list had when the iterator last changed it, to detect changes made by someone else
+		private int expectedModifications;
+
+		public LinkedListIterator(int index) {
+			// We start at the node in position index
+			nextNode = getNode(index);
+			nextIndex = index;
+			expectedModifications = modifications;
 		}
 
 		/**
-		 * Checks if we can still move in the list
+		 * Checks if we can still move forward in the list
 		 */
 		@Override
 		public boolean hasNext() {
 			// Check if we reached the final node of the list
-			return currentNode != trailer;
+			return nextNode != trailer;
 		}
 
 		/**
@@ -90,13 +107,95 @@ public class DoublyLinkedList<E> implements List<E>{
 		 */
 		@Override
 		public E next() {
-			// Get the current value
-			E value = currentNode.getElement();
+			checkModifications();
+			if(!hasNext())
+				throw new NoSuchElementException();
+			lastReturned = nextNode;
 			// Move to next node
-			currentNode = currentNode.getNext();
-			return value;
+			nextNode = nextNode.getNext();
+			nextIndex++;
+			return lastReturned.getElement();
 		}
-		
+
+		/**
+		 * Checks if we can still move backwards in the list
+		 */
+		@Override
+		public boolean hasPrevious() {
+			return nextNode.getPrev() != header;
+		}
+
+		/**
+		 * Moves us back one node and gives its value
+		 */
+		@Override
+		public E previous() {
+			checkModifications();
+			if(!hasPrevious())
+				throw new NoSuchElementException();
+			nextNode = nextNode.getPrev();
+			nextIndex--;
+			lastReturned = nextNode;
+			return lastReturned.getElement();
+		}
+
+		@Override
+		public int nextIndex() {
+			return nextIndex;
+		}
+
+		@Override
+		public int previousIndex() {
+			return nextIndex - 1;
+		}
+
+		/**
+		 * Removes the element returned by the last call to next() or previous().
+		 */
+		@Override
+		public void remove() {
+			checkModifications();
+			if(lastReturned == null)
+				throw new IllegalStateException();
+			if(lastReturned == nextNode)
+				// We came back with previous(), the cursor moves to the node after the removed one
+				nextNode = nextNode.getNext();
+			else
+				// We came with next(), the removed node was before the cursor
+				nextIndex--;
+			unlink(lastReturned);
+			lastReturned = null;
+			expectedModifications = modifications;
+		}
+
+		/**
+		 * Replaces the element returned by the last call to next() or previous().
+		 */
+		@Override
+		public void set(E obj) {
+			checkModifications();
+			if(lastReturned == null)
+				throw new IllegalStateException();
+			lastReturned.setElement(obj);
+		}
+
+		/**
+		 * Adds obj right before the cursor, so next() is not affected and previous() would return obj.
+		 */
+		@Override
+		public void add(E obj) {
+			checkModifications();
+			linkBefore(nextNode, obj);
+			nextIndex++;
+			lastReturned = null;
+			expectedModifications = modifications;
+		}
+
+		private void checkModifications() {
+			if(modifications != expectedModifications)
+				throw new ConcurrentModificationException();
+		}
+
 	}
 	
 	
@@ -104,6 +203,8 @@ public class DoublyLinkedList<E> implements List<E>{
 	private Node<E> header;
 	private Node<E> trailer;
 	private int size;
+	// Counts the adds and removes, so iterators can tell if the list changed under them
+	private int modifications;
 	
 	public DoublyLinkedList() {
 		// Initialize dummies
@@ -122,19 +223,53 @@ public class DoublyLinkedList<E> implements List<E>{
 		return this.size;
 	}
 
+	/**
+	 * Finds the node at position index, walking from the end that is closer to it.
+	 * Position size is the trailer.
+	 */
 	private Node<E> getNode(int index) {
 		// Check the index is valid
 		if(index < 0 || index >size)
 			throw new IndexOutOfBoundsException();
-		// We start at head
-		Node<E> temp = header.getNext();
-		// Move through the list until we find the node at position index
-		for(int i = 0; i < index; i++)
-			temp = temp.getNext();
+		Node<E> temp;
+		if(index < size / 2) {
+			// We start at head and move forward
+			temp = header.getNext();
+			for(int i = 0; i < index; i++)
+				temp = temp.getNext();
+		}
+		else {
+			// We start at the trailer and move backwards
+			temp = trailer;
+			for(int i = size; i > index; i--)
+				temp = temp.getPrev();
+		}
 		// Return the node
 		return temp;
 	}
 	
+	/**
+	 * Adds a node with element obj right before node.
+	 */
+	private void linkBefore(Node<E> node, E obj) {
+		Node<E> newNode = new Node<E>(node, node.getPrev(), obj);
+		node.getPrev().setNext(newNode);
+		node.setPrev(newNode);
+		size++;
+		modifications++;
+	}
+	
+	/**
+	 * Takes node out of the list.
+	 */
+	private void unlink(Node<E> node) {
+		node.getPrev().setNext(node.getNext());
+		node.getNext().setPrev(node.getPrev());
+		node.clear();
+		size--;
+		modifications++;
+	}
+	
 	@Override
 	public boolean isEmpty() {
 		return this.size == 0;
@@ -142,23 +277,13 @@ public class DoublyLinkedList<E> implements List<E>{
 
 	@Override
 	public void add(E obj) {
-		Node<E> newNode = new Node<E>(trailer, trailer.getPrev(), obj);
-		trailer.getPrev().setNext(newNode);
-		trailer.setPrev(newNode);
-		size++;
+		linkBefore(trailer, obj);
 	}
 
 	@Override
 	public void add(int index, E obj) {
-		if(index == size)
-			add(obj);
-		else {
-			Node<E> curr = getNode(index);
-			Node<E> newNode = new Node<E>(curr, curr.getPrev(), obj);
-			curr.getPrev().setNext(newNode);
-			curr.setPrev(newNode);
-			size++;
-		}
+		// getNode(size) is the trailer, so adding at the end works the same way
+		linkBefore(getNode(index), obj);
 	}
 
 	@Override
@@ -182,19 +307,19 @@ public class DoublyLinkedList<E> implements List<E>{
 	public boolean remove(int index) {
 		if(index < 0 || index >=size)
 			throw new IndexOutOfBoundsException();
-		Node<E> curr = getNode(index);
-		curr.getPrev().setNext(curr.getNext());
-		curr.getNext().setPrev(curr.getPrev());
-		curr.clear();
-		size--;
+		unlink(getNode(index));
 		return true;
 	}
 
 	@Override
 	public boolean remove(E obj) {
-		int index =firstIndex(obj); 
-		if(index != -1)
-			return remove(index);
+		// Unlink the node where we find it instead of looking for its position again
+		for(Node<E> temp = header.getNext(); temp != trailer; temp = temp.getNext()) {
+			if(temp.getElement().equals(obj)) {
+				unlink(temp);
+				return true;
+			}
+		}
 		return false;
 	}
 
@@ -203,22 +328,33 @@ public class DoublyLinkedList<E> implements List<E>{
 		return firstIndex(obj)!=-1;
 	}
 
+	/**
+	 * Removes every element in O(1): making the dummies point at each other again leaves
+	 * the old nodes unreachable, and the garbage collector takes care of them.
+	 */
 	@Override
 	public void clear() {
-		while(!isEmpty())
-			remove(0);
-		
+		this.header.setNext(trailer);
+		this.trailer.setPrev(header);
+		this.size = 0;
+		this.modifications++;
 	}
 
+	/**
+	 * Removes every copy of obj in a single pass over the list.
+	 */
 	@Override
 	public int removeAll(E obj) {
-		// TODO Auto-generated method stub
 		int count = 0;
-		int index = firstIndex(obj);
-		while(index != -1) {
-			remove(index);
-			index = firstIndex(obj);
-			count++;
+		Node<E> temp = header.getNext();
+		while(temp != trailer) {
+			// Hold the next node since unlink clears temp
+			Node<E> next = temp.getNext();
+			if(temp.getElement().equals(obj)) {
+				unlink(temp);
+				count++;
+			}
+			temp = next;
 		}
 		return count;
 	}
@@ -286,8 +422,28 @@ public class DoublyLinkedList<E> implements List<E>{
 	
 	@Override
 	public Iterator<E> iterator() {
-		// TODO Auto-generated method stub
-		return new LinkedListIterator<E>();
+		return new LinkedListIterator(0);
+	}
+	
+	/**
+	 * Returns an iterator that starts at the first element and can move in both directions.
+	 * 
+	 * @return (ListIterator) iterator over the list
+	 */
+	public ListIterator<E> listIterator() {
+		return new LinkedListIterator(0);
+	}
+	
+	/**
+	 * Returns an iterator that can move in both directions, whose first call to next()
+	 * returns the element at position index.
+	 * 
+	 * @param index - (int) position of the first element next() returns, between 0 and size
+	 * @return (ListIterator) iterator over the list
+	 * @throws IndexOutOfBoundsException if index is not between 0 and size
+	 */
+	public ListIterator<E> listIterator(int index) {
+		return new LinkedListIterator(index);
 	}
 	
 	
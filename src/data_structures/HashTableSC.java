@@ -1,44 +1,129 @@
 package data_structures;
 
 import java.io.PrintStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
+import interfaces.Entry;
 import interfaces.HashFunction;
 import interfaces.List;
 import interfaces.Map;
 
 
+/**
+ * Separate chaining hash table that grows automatically.
+ *
+ * Each bucket is just the first node of its chain (null when the bucket is empty) and every node
+ * points to the next one, so an empty table is a single array and an entry costs a single node.
+ *
+ * When the number of entries goes over loadFactor * (number of buckets) the table doubles.
+ * The entries are not moved all at once: the old bucket array is kept around and a few buckets
+ * are migrated on every put/remove, so no single operation has to pay for the whole rehash.
+ * While a rehash is in progress lookups check both arrays.
+ *
+ * put, getOrDefault, putIfAbsent, computeIfAbsent, merge and compute walk the chain of the key once
+ * and change the value in place when the key is already there. forEach and entries() walk the
+ * buckets directly, without copying the keys.
+ *
+ * @param <K> - type of the keys
+ * @param <V> - type of the values
+ */
+@SuppressWarnings("unchecked")
 public class HashTableSC<K, V> implements Map<K, V> {
-	
-	private static class BucketNode<K,V>{
+
+	// Default number of buckets when no capacity hint is given
+	public static final int DEFAULT_CAPACITY = 10;
+	// Default maximum ratio of entries per bucket before the table grows
+	public static final double DEFAULT_LOAD_FACTOR = 0.75;
+	// How many old buckets are migrated on each put/remove while rehashing
+	private static final int REHASH_STEP = 4;
+
+	private static class BucketNode<K,V> implements Entry<K,V> {
 		private K key;
 		private V value;
-		
+		private BucketNode<K,V> next;
+
 		public BucketNode(K key, V value) {
 			this.key = key;
 			this.value = value;
 		}
-		
+
+		@Override
 		public K getKey() {return key;}
+		@Override
 		public V getValue() {return value;}
-		
+		public void setValue(V value) {this.value = value;}
+
 	}
-	
+
 	private int currentSize;
-	private List<BucketNode<K,V>>[] buckets;
+	private BucketNode<K,V>[] buckets;
 	private HashFunction<K> hashFunction;
+	private double loadFactor;
+	// Capacity we go back to when the table is cleared
+	private int initialCapacity;
+	// Bucket array being migrated (null when no rehash is in progress)
+	private BucketNode<K,V>[] oldBuckets;
+	// Buckets of oldBuckets below this index were already moved to buckets (and set to null)
+	private int rehashIndex;
 
+	/**
+	 * Creates a table with the default capacity and load factor.
+	 * @param hashFunction - function used to pick the bucket of a key
+	 */
+	public HashTableSC(HashFunction<K> hashFunction) {
+		this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR, hashFunction);
+	}
+
+	/**
+	 * Creates a table with the given number of buckets and the default load factor.
+	 * @param initialCapacity - number of buckets to start with, use it as a hint when the size is known
+	 * @param hashFunction - function used to pick the bucket of a key
+	 */
 	public HashTableSC(int initialCapacity, HashFunction<K> hashFunction) {
+		this(initialCapacity, DEFAULT_LOAD_FACTOR, hashFunction);
+	}
+
+	/**
+	 * Creates a table with the given number of buckets and load factor.
+	 * A load factor of Double.POSITIVE_INFINITY disables resizing (fixed size table).
+	 * @param initialCapacity - number of buckets to start with
+	 * @param loadFactor - maximum entries per bucket (on average) before the table doubles
+	 * @param hashFunction - function used to pick the bucket of a key
+	 */
+	public HashTableSC(int initialCapacity, double loadFactor, HashFunction<K> hashFunction) {
 		if(initialCapacity < 1) throw new IllegalArgumentException("Size must be at least 1");
+		if(!(loadFactor > 0)) throw new IllegalArgumentException("Load factor must be positive");
 		if(hashFunction == null) throw new IllegalArgumentException("Must provide a hash function");
-		
+
 		this.currentSize = 0;
-		this.buckets = new SinglyLinkedList[initialCapacity];
-		for (int i = 0; i < initialCapacity; i++) {
-			buckets[i] = new SinglyLinkedList<BucketNode<K,V>>();
-		}
+		this.initialCapacity = initialCapacity;
+		this.loadFactor = loadFactor;
+		this.buckets = newBuckets(initialCapacity);
+		this.oldBuckets = null;
+		this.rehashIndex = 0;
 		this.hashFunction = hashFunction;
 	}
-	
+
+	/**
+	 * Returns the number of buckets in the current table (not counting a table being migrated).
+	 * @return (int) number of buckets
+	 */
+	public int capacity() {
+		return buckets.length;
+	}
+
+	/**
+	 * Returns the load factor this table was built with.
+	 * @return (double) load factor
+	 */
+	public double getLoadFactor() {
+		return loadFactor;
+	}
+
 	@Override
 	public int size() {
 		return currentSize;
@@ -52,41 +137,84 @@ public class HashTableSC<K, V> implements Map<K, V> {
 	@Override
 	public V get(K key) {
 		if(key == null) throw new IllegalArgumentException("Invalid parameter");
-		int targetBucket = hashFunction.hashCode(key) % buckets.length;
-		List<BucketNode<K,V>> bucket = buckets[targetBucket];
-		for (BucketNode<K, V> bucketNode : bucket) {
-			if(bucketNode.getKey().equals(key)) return bucketNode.getValue();
+		BucketNode<K,V> node = lookup(key);
+		return node == null ? null : node.getValue();
+	}
+
+	@Override
+	public V put(K key, V value) {
+		if(key == null || value == null) throw new IllegalArgumentException("Invalid parameters");
+		rehashStep();
+		BucketNode<K,V> node = lookup(key);
+		if(node != null) {
+			V oldValue = node.getValue();
+			node.setValue(value);
+			return oldValue;
 		}
+		insert(key, value);
 		return null;
 	}
 
 	@Override
-	public V put(K key, V value) {
+	public V getOrDefault(K key, V defaultValue) {
+		if(key == null) throw new IllegalArgumentException("Invalid parameter");
+		BucketNode<K,V> node = lookup(key);
+		return node == null ? defaultValue : node.getValue();
+	}
+
+	@Override
+	public V putIfAbsent(K key, V value) {
 		if(key == null || value == null) throw new IllegalArgumentException("Invalid parameters");
-		V oldValue = remove(key);
-		int targetBucket = hashFunction.hashCode(key) % buckets.length;
-		List<BucketNode<K,V>> bucket = buckets[targetBucket];
-		bucket.add(0, new BucketNode<>(key, value));
-		currentSize++;
-		return oldValue;
+		rehashStep();
+		BucketNode<K,V> node = lookup(key);
+		if(node != null) return node.getValue();
+		insert(key, value);
+		return null;
+	}
+
+	@Override
+	public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+		if(key == null || mappingFunction == null) throw new IllegalArgumentException("Invalid parameters");
+		rehashStep();
+		BucketNode<K,V> node = lookup(key);
+		if(node != null) return node.getValue();
+		V value = mappingFunction.apply(key);
+		if(value != null) insert(key, value);
+		return value;
+	}
+
+	@Override
+	public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+		if(key == null || value == null || remappingFunction == null) throw new IllegalArgumentException("Invalid parameters");
+		rehashStep();
+		BucketNode<K,V> node = lookup(key);
+		if(node == null) {
+			insert(key, value);
+			return value;
+		}
+		return replaceValue(node, remappingFunction.apply(node.getValue(), value));
+	}
+
+	@Override
+	public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+		if(key == null || remappingFunction == null) throw new IllegalArgumentException("Invalid parameters");
+		rehashStep();
+		BucketNode<K,V> node = lookup(key);
+		if(node == null) {
+			V value = remappingFunction.apply(key, null);
+			if(value != null) insert(key, value);
+			return value;
+		}
+		return replaceValue(node, remappingFunction.apply(key, node.getValue()));
 	}
 
 	@Override
 	public V remove(K key) {
 		if(key == null) throw new IllegalArgumentException("Invalid parameter");
-		int targetBucket = hashFunction.hashCode(key) % buckets.length;	
-		List<BucketNode<K,V>> bucket = buckets[targetBucket];
-		
-		int pos = 0;
-		for (BucketNode<K, V> bucketNode : bucket) {
-			if (bucketNode.getKey().equals(key)) {
-				bucket.remove(pos);
-				currentSize--;
-				return bucketNode.getValue();
-			} else pos++;
-		}
-		
-		return null;
+		rehashStep();
+		V oldValue = removeFrom(buckets, key);
+		if(oldValue == null && oldBuckets != null) oldValue = removeFrom(oldBuckets, key);
+		return oldValue;
 	}
 
 	@Override
@@ -94,45 +222,60 @@ public class HashTableSC<K, V> implements Map<K, V> {
 		return get(key) != null;
 	}
 
+	/**
+	 * Removes every entry and shrinks the table back to its initial capacity.
+	 */
 	@Override
 	public void clear() {
 		currentSize = 0;
-		for (List<BucketNode<K, V>> list : buckets) {
-			list.clear();
-		}
+		buckets = newBuckets(initialCapacity);
+		oldBuckets = null;
+		rehashIndex = 0;
 	}
 
 	@Override
 	public List<K> getKeys() {
 		List<K> result = new SinglyLinkedList<>();
-		for (int i = 0; i < buckets.length; i++) {
-			for (BucketNode<K,V> BN : buckets[i]) {
-				result.add(0, BN.getKey());
-			}
-		}
-		
+		forEach((key, value) -> result.add(0, key));
 		return result;
 	}
 
 	@Override
 	public List<V> getValues() {
 		List<V> result = new SinglyLinkedList<>();
-		for (int i = 0; i < buckets.length; i++) {
-			for (BucketNode<K,V> BN : buckets[i]) {
-				result.add(0, BN.getValue());
+		forEach((key, value) -> result.add(0, value));
+		return result;
+	}
+
+	/**
+	 * Calls action on every entry, going over the buckets not yet migrated and then the current table.
+	 */
+	@Override
+	public void forEach(BiConsumer<? super K, ? super V> action) {
+		if(oldBuckets != null) {
+			for (int i = rehashIndex; i < oldBuckets.length; i++) {
+				for (BucketNode<K,V> BN = oldBuckets[i]; BN != null; BN = BN.next) action.accept(BN.getKey(), BN.getValue());
 			}
 		}
-		
-		return result;
+		for (BucketNode<K,V> bucket : buckets) {
+			for (BucketNode<K,V> BN = bucket; BN != null; BN = BN.next) action.accept(BN.getKey(), BN.getValue());
+		}
+	}
+
+	/**
+	 * Returns the entries in the same order as forEach. The entries are the table's own nodes,
+	 * so nothing is copied.
+	 */
+	@Override
+	public Iterable<Entry<K,V>> entries() {
+		return EntryIterator::new;
 	}
 
 	@Override
 	public String toString() {
-		String str = "{ ";
-		for (K key : this.getKeys()) {
-			str += "(" + key + ", " + this.get(key) + ") ";
-		}
-		return str + "}";
+		StringBuilder str = new StringBuilder("{ ");
+		forEach((key, value) -> str.append("(").append(key).append(", ").append(value).append(") "));
+		return str.append("}").toString();
 	}
 	@Override
 	public void print(PrintStream out) {
@@ -140,4 +283,143 @@ public class HashTableSC<K, V> implements Map<K, V> {
 
 	}
 
+	/**
+	 * Creates a bucket array where every chain is empty.
+	 */
+	@SuppressWarnings({"rawtypes","unchecked"})
+	private BucketNode<K,V>[] newBuckets(int capacity) {
+		return new BucketNode[capacity];
+	}
+
+	/**
+	 * Position of key in a bucket array of the given length.
+	 */
+	private int indexFor(K key, int length) {
+		return (hashFunction.hashCode(key) & 0x7fffffff) % length;
+	}
+
+	/**
+	 * Node of key in the current table or in the table being migrated, null if the key isn't present.
+	 * Buckets of the old table that were already migrated are null, so they are skipped right away.
+	 */
+	private BucketNode<K,V> lookup(K key) {
+		BucketNode<K,V> node = findNode(buckets[indexFor(key, buckets.length)], key);
+		if(node == null && oldBuckets != null) node = findNode(oldBuckets[indexFor(key, oldBuckets.length)], key);
+		return node;
+	}
+
+	/**
+	 * Adds a key that isn't present to the front of its chain, and starts growing the table if needed.
+	 */
+	private void insert(K key, V value) {
+		int index = indexFor(key, buckets.length);
+		BucketNode<K,V> node = new BucketNode<>(key, value);
+		node.next = buckets[index];
+		buckets[index] = node;
+		currentSize++;
+		if(currentSize > loadFactor * buckets.length)
+			startRehash();
+	}
+
+	/**
+	 * Gives node a new value, or removes its key if the new value is null (the only case that walks the chain again).
+	 * @return (V) the new value
+	 */
+	private V replaceValue(BucketNode<K,V> node, V value) {
+		if(value == null) remove(node.getKey());
+		else node.setValue(value);
+		return value;
+	}
+
+	private BucketNode<K,V> findNode(BucketNode<K,V> chain, K key) {
+		for (BucketNode<K,V> BN = chain; BN != null; BN = BN.next) {
+			if(BN.getKey().equals(key)) return BN;
+		}
+		return null;
+	}
+
+	/**
+	 * Unlinks the node of key from its chain in table.
+	 * @return (V) the value of key, null if it wasn't in table
+	 */
+	private V removeFrom(BucketNode<K,V>[] table, K key) {
+		int index = indexFor(key, table.length);
+		BucketNode<K,V> previous = null;
+		for (BucketNode<K,V> BN = table[index]; BN != null; previous = BN, BN = BN.next) {
+			if(BN.getKey().equals(key)) {
+				if(previous == null) table[index] = BN.next;
+				else previous.next = BN.next;
+				BN.next = null;
+				currentSize--;
+				return BN.getValue();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Starts migrating to a table twice as big. If a previous migration is still
+	 * running it gets finished first.
+	 */
+	private void startRehash() {
+		while(oldBuckets != null) rehashStep();
+		oldBuckets = buckets;
+		buckets = newBuckets(2 * buckets.length);
+		rehashIndex = 0;
+	}
+
+	/**
+	 * Moves up to REHASH_STEP buckets from the old table to the current one.
+	 */
+	private void rehashStep() {
+		if(oldBuckets == null) return;
+		for (int moved = 0; moved < REHASH_STEP && rehashIndex < oldBuckets.length; moved++) {
+			BucketNode<K,V> BN = oldBuckets[rehashIndex];
+			while(BN != null) {
+				BucketNode<K,V> next = BN.next;
+				int index = indexFor(BN.getKey(), buckets.length);
+				BN.next = buckets[index];
+				buckets[index] = BN;
+				BN = next;
+			}
+			oldBuckets[rehashIndex++] = null;
+		}
+		if(rehashIndex == oldBuckets.length) {
+			oldBuckets = null;
+			rehashIndex = 0;
+		}
+	}
+
+	/**
+	 * Goes over the buckets not yet migrated and then the current table.
+	 */
+	private class EntryIterator implements Iterator<Entry<K,V>> {
+		private BucketNode<K,V>[] table = oldBuckets != null ? oldBuckets : buckets;
+		private int index = oldBuckets != null ? rehashIndex : 0;
+		// Node returned by the next call to next()
+		private BucketNode<K,V> node;
+
+		@Override
+		public boolean hasNext() {
+			while(node == null) {
+				if(index == table.length) {
+					if(table == buckets) return false;
+					table = buckets;
+					index = 0;
+					continue;
+				}
+				node = table[index++];
+			}
+			return true;
+		}
+
+		@Override
+		public Entry<K,V> next() {
+			if(!hasNext()) throw new NoSuchElementException();
+			BucketNode<K,V> result = node;
+			node = node.next;
+			return result;
+		}
+	}
+
 }
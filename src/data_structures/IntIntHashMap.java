@@ -0,0 +1,452 @@
+package data_structures;
+
+import java.io.PrintStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import interfaces.Entry;
+import interfaces.List;
+import interfaces.Map;
+
+/**
+ * Hash map from int keys to int values that never boxes.
+ *
+ * Keys and values live in parallel int arrays and collisions are solved with linear probing
+ * (if a slot is taken we try the next one). Removing uses backward shifting instead of
+ * tombstones, so the probe sequences stay short after many removals.
+ *
+ * Use asMap() when a Map<Integer, Integer> is needed; the view is backed by this map.
+ *
+ * @author Eliel Cruz Felix
+ */
+public class IntIntHashMap {
+
+	/**
+	 * Receives each key/value pair of the map.
+	 */
+	public interface IntIntConsumer {
+		void accept(int key, int value);
+	}
+
+	private static final int DEFAULT_EXPECTED_SIZE = 4;
+	// Maximum ratio of used slots before the arrays double
+	private static final double LOAD_FACTOR = 0.75;
+
+	private int[] keys;
+	private int[] values;
+	private boolean[] used;
+	private int size;
+	// Always capacity - 1, capacity is a power of two
+	private int mask;
+	private MapView view;
+
+	/**
+	 * Creates an empty map with room for a few entries.
+	 */
+	public IntIntHashMap() {
+		this(DEFAULT_EXPECTED_SIZE);
+	}
+
+	/**
+	 * Creates an empty map that can hold expectedSize entries without growing.
+	 * @param expectedSize - number of entries we expect to store
+	 */
+	public IntIntHashMap(int expectedSize) {
+		if(expectedSize < 0) throw new IllegalArgumentException("Expected size cannot be negative");
+		allocate(capacityFor(expectedSize));
+	}
+
+	/**
+	 * Builds a map with the same entries as the given boxed map.
+	 * @param map - map to copy
+	 * @return (IntIntHashMap) a new map with the entries of map
+	 */
+	public static IntIntHashMap copyOf(Map<Integer, Integer> map) {
+		IntIntHashMap result = new IntIntHashMap(map.size());
+		map.forEach((key, value) -> result.put(key, value));
+		return result;
+	}
+
+	/**
+	 * Returns an independent copy of this map.
+	 * @return (IntIntHashMap) a new map with the same entries
+	 */
+	public IntIntHashMap copy() {
+		IntIntHashMap result = new IntIntHashMap();
+		result.keys = keys.clone();
+		result.values = values.clone();
+		result.used = used.clone();
+		result.size = size;
+		result.mask = mask;
+		return result;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public boolean containsKey(int key) {
+		return used[slotOf(key)];
+	}
+
+	/**
+	 * Returns the value of key, or defaultValue if the key isn't present.
+	 */
+	public int getOrDefault(int key, int defaultValue) {
+		int slot = slotOf(key);
+		return used[slot] ? values[slot] : defaultValue;
+	}
+
+	/**
+	 * Associates value to key.
+	 * @return (int) the previous value of key, 0 if it wasn't present
+	 */
+	public int put(int key, int value) {
+		int slot = slotOf(key);
+		if(used[slot]) {
+			int old = values[slot];
+			values[slot] = value;
+			return old;
+		}
+		insertAt(slot, key, value);
+		return 0;
+	}
+
+	/**
+	 * Adds increment to the value of key. Keys that aren't present start at 0.
+	 * @return (int) the new value of key
+	 */
+	public int addTo(int key, int increment) {
+		int slot = slotOf(key);
+		if(used[slot]) {
+			return values[slot] += increment;
+		}
+		insertAt(slot, key, increment);
+		return increment;
+	}
+
+	/**
+	 * Removes key from the map.
+	 * @return (boolean) true if the key was present
+	 */
+	public boolean remove(int key) {
+		int slot = slotOf(key);
+		if(!used[slot]) return false;
+		// Shift back the entries after the removed one so no probe sequence gets broken
+		int hole = slot;
+		int next = (hole + 1) & mask;
+		while(used[next]) {
+			int home = mix(keys[next]) & mask;
+			// The entry at next can fill the hole only if its home slot isn't between hole and next
+			if(((next - home) & mask) >= ((next - hole) & mask)) {
+				keys[hole] = keys[next];
+				values[hole] = values[next];
+				hole = next;
+			}
+			next = (next + 1) & mask;
+		}
+		used[hole] = false;
+		size--;
+		return true;
+	}
+
+	public void clear() {
+		for (int i = 0; i < used.length; i++) used[i] = false;
+		size = 0;
+	}
+
+	/**
+	 * Calls action on every entry. The order is unspecified.
+	 */
+	public void forEach(IntIntConsumer action) {
+		for (int i = 0; i < used.length; i++) {
+			if(used[i]) action.accept(keys[i], values[i]);
+		}
+	}
+
+	/**
+	 * Returns a Map<Integer, Integer> backed by this map. Changes on either one are seen by the other.
+	 */
+	public Map<Integer, Integer> asMap() {
+		if(view == null) view = new MapView(this);
+		return view;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder str = new StringBuilder("{ ");
+		forEach((key, value) -> str.append("(").append(key).append(", ").append(value).append(") "));
+		return str.append("}").toString();
+	}
+
+	/**
+	 * Slot where key is stored, or the empty slot where it would be inserted.
+	 */
+	private int slotOf(int key) {
+		int slot = mix(key) & mask;
+		while(used[slot] && keys[slot] != key) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	private void insertAt(int slot, int key, int value) {
+		keys[slot] = key;
+		values[slot] = value;
+		used[slot] = true;
+		size++;
+		if(size > LOAD_FACTOR * used.length) rehash(used.length * 2);
+	}
+
+	private void rehash(int capacity) {
+		int[] oldKeys = keys;
+		int[] oldValues = values;
+		boolean[] oldUsed = used;
+		allocate(capacity);
+		for (int i = 0; i < oldUsed.length; i++) {
+			if(oldUsed[i]) {
+				int slot = slotOf(oldKeys[i]);
+				keys[slot] = oldKeys[i];
+				values[slot] = oldValues[i];
+				used[slot] = true;
+			}
+		}
+	}
+
+	private void allocate(int capacity) {
+		keys = new int[capacity];
+		values = new int[capacity];
+		used = new boolean[capacity];
+		mask = capacity - 1;
+	}
+
+	/**
+	 * Smallest power of two that keeps expectedSize entries under the load factor.
+	 */
+	private static int capacityFor(int expectedSize) {
+		int capacity = 2;
+		while(capacity * LOAD_FACTOR < expectedSize + 1) capacity *= 2;
+		return capacity;
+	}
+
+	/**
+	 * Spreads the bits of the key so consecutive ids don't end up in consecutive slots.
+	 */
+	private static int mix(int key) {
+		int h = key * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * Boxed Map view over an IntIntHashMap, for code written against interfaces.Map.
+	 */
+	public static class MapView implements Map<Integer, Integer> {
+
+		private IntIntHashMap backing;
+
+		private MapView(IntIntHashMap backing) {
+			this.backing = backing;
+		}
+
+		/**
+		 * Returns the primitive map behind this view.
+		 */
+		public IntIntHashMap getBacking() {
+			return backing;
+		}
+
+		@Override
+		public int size() {
+			return backing.size();
+		}
+
+		@Override
+		public boolean isEmpty() {
+			return backing.isEmpty();
+		}
+
+		@Override
+		public Integer get(Integer key) {
+			if(key == null) throw new IllegalArgumentException("Invalid parameter");
+			int slot = backing.slotOf(key);
+			return backing.used[slot] ? backing.values[slot] : null;
+		}
+
+		@Override
+		public Integer put(Integer key, Integer value) {
+			if(key == null || value == null) throw new IllegalArgumentException("Invalid parameters");
+			int slot = backing.slotOf(key);
+			if(backing.used[slot]) {
+				int old = backing.values[slot];
+				backing.values[slot] = value;
+				return old;
+			}
+			backing.insertAt(slot, key, value);
+			return null;
+		}
+
+		@Override
+		public Integer getOrDefault(Integer key, Integer defaultValue) {
+			if(key == null) throw new IllegalArgumentException("Invalid parameter");
+			int slot = backing.slotOf(key);
+			return backing.used[slot] ? backing.values[slot] : defaultValue;
+		}
+
+		@Override
+		public Integer putIfAbsent(Integer key, Integer value) {
+			if(key == null || value == null) throw new IllegalArgumentException("Invalid parameters");
+			int slot = backing.slotOf(key);
+			if(backing.used[slot]) return backing.values[slot];
+			backing.insertAt(slot, key, value);
+			return null;
+		}
+
+		@Override
+		public Integer computeIfAbsent(Integer key, Function<? super Integer, ? extends Integer> mappingFunction) {
+			if(key == null || mappingFunction == null) throw new IllegalArgumentException("Invalid parameters");
+			int slot = backing.slotOf(key);
+			if(backing.used[slot]) return backing.values[slot];
+			Integer value = mappingFunction.apply(key);
+			if(value != null) backing.insertAt(slot, key, value);
+			return value;
+		}
+
+		@Override
+		public Integer merge(Integer key, Integer value, BiFunction<? super Integer, ? super Integer, ? extends Integer> remappingFunction) {
+			if(key == null || value == null || remappingFunction == null) throw new IllegalArgumentException("Invalid parameters");
+			int slot = backing.slotOf(key);
+			if(!backing.used[slot]) {
+				backing.insertAt(slot, key, value);
+				return value;
+			}
+			return replaceValue(slot, remappingFunction.apply(backing.values[slot], value));
+		}
+
+		@Override
+		public Integer compute(Integer key, BiFunction<? super Integer, ? super Integer, ? extends Integer> remappingFunction) {
+			if(key == null || remappingFunction == null) throw new IllegalArgumentException("Invalid parameters");
+			int slot = backing.slotOf(key);
+			if(!backing.used[slot]) {
+				Integer value = remappingFunction.apply(key, null);
+				if(value != null) backing.insertAt(slot, key, value);
+				return value;
+			}
+			return replaceValue(slot, remappingFunction.apply(key, backing.values[slot]));
+		}
+
+		@Override
+		public Integer remove(Integer key) {
+			Integer old = get(key);
+			if(old != null) backing.remove(key);
+			return old;
+		}
+
+		@Override
+		public boolean containsKey(Integer key) {
+			if(key == null) throw new IllegalArgumentException("Invalid parameter");
+			return backing.containsKey(key);
+		}
+
+		@Override
+		public void clear() {
+			backing.clear();
+		}
+
+		@Override
+		public List<Integer> getKeys() {
+			List<Integer> result = new ArrayList<>(Math.max(1, backing.size()));
+			backing.forEach((key, value) -> result.add(key));
+			return result;
+		}
+
+		@Override
+		public List<Integer> getValues() {
+			List<Integer> result = new ArrayList<>(Math.max(1, backing.size()));
+			backing.forEach((key, value) -> result.add(value));
+			return result;
+		}
+
+		@Override
+		public void forEach(BiConsumer<? super Integer, ? super Integer> action) {
+			backing.forEach(action::accept);
+		}
+
+		/**
+		 * Returns the entries without copying them. Every iterator reuses a single entry that points to the
+		 * current slot, so an entry is only valid until the next call to next(). getKey and getValue still
+		 * box the ints (Integer caches the small ones, like most part ids and counts).
+		 */
+		@Override
+		public Iterable<Entry<Integer, Integer>> entries() {
+			return SlotIterator::new;
+		}
+
+		@Override
+		public void print(PrintStream out) {
+			out.println(backing);
+		}
+
+		/**
+		 * First used slot at or after from, or the capacity if there is none.
+		 */
+		private int nextUsed(int from) {
+			while(from < backing.used.length && !backing.used[from]) from++;
+			return from;
+		}
+
+		/**
+		 * Gives the entry at slot a new value, or removes it if the new value is null.
+		 */
+		private Integer replaceValue(int slot, Integer value) {
+			if(value == null) backing.remove(backing.keys[slot]);
+			else backing.values[slot] = value;
+			return value;
+		}
+
+		@Override
+		public String toString() {
+			return backing.toString();
+		}
+
+		/**
+		 * Goes over the used slots, handing out the same entry every time.
+		 */
+		private class SlotIterator implements Iterator<Entry<Integer, Integer>>, Entry<Integer, Integer> {
+			// Slot of the entry returned by the last call to next()
+			private int current = -1;
+			// Slot returned by the next call to next()
+			private int slot = nextUsed(0);
+
+			@Override
+			public boolean hasNext() {
+				return slot < backing.used.length;
+			}
+
+			@Override
+			public Entry<Integer, Integer> next() {
+				if(!hasNext()) throw new NoSuchElementException();
+				current = slot;
+				slot = nextUsed(slot + 1);
+				return this;
+			}
+
+			@Override
+			public Integer getKey() {
+				return backing.keys[current];
+			}
+
+			@Override
+			public Integer getValue() {
+				return backing.values[current];
+			}
+		}
+	}
+
+}
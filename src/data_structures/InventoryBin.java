@@ -0,0 +1,298 @@
+package data_structures;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import interfaces.List;
+
+/**
+ * Array based List meant to be used as a FIFO bin: elements are added at the end and taken from the front.
+ *
+ * Unlike ArrayList, the first element doesn't have to be at position 0 of the array. The field head
+ * marks where the list starts, so removing from the front (remove(0) or takeFront(n)) only moves
+ * head instead of shifting every element to the left. The unused space before head is recovered
+ * by compact(), which also runs on its own once more than half the array is unused (unless
+ * automatic compaction was turned off).
+ *
+ * @author Eliel Cruz Felix
+ *
+ * @param <E>
+ */
+@SuppressWarnings("unchecked")
+public class InventoryBin<E> implements List<E> {
+
+	private static final int DEFAULT_CAPACITY = 15;
+
+	private E[] elements;
+	// Position in the array of the first element of the list
+	private int head;
+	private int size;
+	// Whether compact() is called automatically after removing from the front
+	private boolean autoCompact;
+
+	/**
+	 * Creates an empty bin with the default capacity and automatic compaction.
+	 */
+	public InventoryBin() {
+		this(DEFAULT_CAPACITY, true);
+	}
+
+	/**
+	 * Creates an empty bin.
+	 * @param initialCapacity - length of the internal array
+	 * @param autoCompact - whether to compact automatically once half of the array is unused
+	 */
+	public InventoryBin(int initialCapacity, boolean autoCompact) {
+		if(initialCapacity < 1)
+			throw new IllegalArgumentException("Capacity must be at least 1");
+		this.elements = (E[]) new Object[initialCapacity];
+		this.head = 0;
+		this.size = 0;
+		this.autoCompact = autoCompact;
+	}
+
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	@Override
+	public void add(E obj) {
+		if(this.head + this.size == this.elements.length)
+			makeRoom();
+		this.elements[this.head + this.size++] = obj;
+	}
+
+	@Override
+	public void add(int index, E obj) {
+		if(index < 0 || index > size)
+			throw new IndexOutOfBoundsException();
+		if(this.head + this.size == this.elements.length)
+			makeRoom();
+		// Shift values to the right
+		for(int i = this.head + this.size; i > this.head + index; i--)
+			this.elements[i] = this.elements[i-1];
+		this.elements[this.head + index] = obj;
+		this.size++;
+	}
+
+	@Override
+	public E get(int index) {
+		if(index < 0 || index >= size)
+			throw new IndexOutOfBoundsException();
+		return this.elements[this.head + index];
+	}
+
+	@Override
+	public E set(int index, E obj) {
+		if(index < 0 || index >= size)
+			throw new IndexOutOfBoundsException();
+		E oldValue = this.elements[this.head + index];
+		this.elements[this.head + index] = obj;
+		return oldValue;
+	}
+
+	/**
+	 * Removes the element at index. Removing the first element is O(1).
+	 */
+	@Override
+	public boolean remove(int index) {
+		if(index < 0 || index >= size)
+			throw new IndexOutOfBoundsException();
+		if(index == 0) {
+			takeFront(1);
+			return true;
+		}
+		// Shift values to the left
+		for(int i = this.head + index; i < this.head + this.size - 1; i++)
+			this.elements[i] = this.elements[i+1];
+		this.elements[this.head + this.size - 1] = null;
+		this.size--;
+		return true;
+	}
+
+	/**
+	 * Removes the first n elements of the bin in O(1) (amortized when compaction kicks in).
+	 * The removed references are released when the bin is compacted or reused.
+	 *
+	 * @param n - how many elements to remove from the front
+	 * @throws IndexOutOfBoundsException if n is negative or bigger than the size
+	 */
+	public void takeFront(int n) {
+		if(n < 0 || n > size)
+			throw new IndexOutOfBoundsException();
+		this.head += n;
+		this.size -= n;
+		if(this.size == 0) {
+			// Nothing left, next adds can start from the beginning again
+			Arrays.fill(this.elements, 0, this.head, null);
+			this.head = 0;
+		}
+		else if(this.autoCompact && this.head >= this.elements.length / 2)
+			compact();
+	}
+
+	/**
+	 * Moves the elements to the start of the internal array, releasing the space used by
+	 * elements previously taken from the front.
+	 */
+	public void compact() {
+		if(this.head == 0)
+			return;
+		System.arraycopy(this.elements, this.head, this.elements, 0, this.size);
+		Arrays.fill(this.elements, this.size, this.head + this.size, null);
+		this.head = 0;
+	}
+
+	/**
+	 * Makes room for minCapacity elements after head, compacting first if that is enough.
+	 */
+	@Override
+	public void ensureCapacity(int minCapacity) {
+		if(this.head + minCapacity <= this.elements.length)
+			return;
+		if(minCapacity <= this.elements.length) {
+			compact();
+			return;
+		}
+		E[] temp = (E[]) new Object[Math.max(minCapacity, this.elements.length * 2)];
+		System.arraycopy(this.elements, this.head, temp, 0, this.size);
+		this.elements = temp;
+		this.head = 0;
+	}
+
+	/**
+	 * Removes the elements from position from to position to - 1. Removing from the front is takeFront(to).
+	 */
+	@Override
+	public void removeRange(int from, int to) {
+		if(from < 0 || to > size || from > to)
+			throw new IndexOutOfBoundsException();
+		if(from == 0) {
+			takeFront(to);
+			return;
+		}
+		System.arraycopy(this.elements, this.head + to, this.elements, this.head + from, this.size - to);
+		int newSize = this.size - (to - from);
+		Arrays.fill(this.elements, this.head + newSize, this.head + this.size, null);
+		this.size = newSize;
+	}
+
+	@Override
+	public boolean remove(E obj) {
+		int index = firstIndex(obj);
+		if(index != -1)
+			return remove(index);
+		return false;
+	}
+
+	@Override
+	public boolean contains(E obj) {
+		return firstIndex(obj) != -1;
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(this.elements, 0, this.head + this.size, null);
+		this.head = 0;
+		this.size = 0;
+	}
+
+	@Override
+	public int removeAll(E obj) {
+		int count = 0;
+		while(remove(obj))
+			count++;
+		return count;
+	}
+
+	@Override
+	public int firstIndex(E obj) {
+		for(int i = 0; i < this.size; i++) {
+			if(this.elements[this.head + i].equals(obj))
+				return i;
+		}
+		return -1;
+	}
+
+	@Override
+	public int lastIndex(E obj) {
+		for(int i = this.size - 1; i >= 0; i--) {
+			if(this.elements[this.head + i].equals(obj))
+				return i;
+		}
+		return -1;
+	}
+
+	@Override
+	public E first() {
+		if(this.isEmpty())
+			throw new NoSuchElementException();
+		return this.elements[this.head];
+	}
+
+	@Override
+	public E last() {
+		if(this.isEmpty())
+			throw new NoSuchElementException();
+		return this.elements[this.head + this.size - 1];
+	}
+
+	@Override
+	public Iterator<E> iterator() {
+		return new InventoryBinIterator();
+	}
+
+	/**
+	 * Returns the content of the bin in the format { A, B, C }.
+	 */
+	@Override
+	public String toString() {
+		String str = "{ ";
+		for(int i = 0; i < this.size; i++)
+			str += this.elements[this.head + i] + (i < this.size - 1 ? ", " : " ");
+		return str + "}";
+	}
+
+	/**
+	 * Called when there is no space after the last element. Compacts if at least half of
+	 * the array is unused, otherwise doubles the array.
+	 */
+	private void makeRoom() {
+		if(this.head > 0 && this.size <= this.elements.length / 2) {
+			compact();
+			return;
+		}
+		E[] temp = (E[]) new Object[this.elements.length * 2];
+		System.arraycopy(this.elements, this.head, temp, 0, this.size);
+		this.elements = temp;
+		this.head = 0;
+	}
+
+	/**
+	 * Iterator that walks the bin from head to the last element.
+	 */
+	private class InventoryBinIterator implements Iterator<E> {
+		// Position (relative to head) of the next element to return
+		private int currentPosition = 0;
+
+		@Override
+		public boolean hasNext() {
+			return currentPosition < size;
+		}
+
+		@Override
+		public E next() {
+			if(!hasNext())
+				throw new NoSuchElementException();
+			return elements[head + currentPosition++];
+		}
+	}
+
+}
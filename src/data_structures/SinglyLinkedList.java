@@ -8,6 +8,9 @@ import interfaces.List;
 
 /**
  * Implementation of a list using simple nodes. All the data is stored using nodes.
+ * 
+ * The list keeps a reference to its last node as well as the first one, so adding at the end,
+ * adding or removing at the front and clearing the list are O(1).
  * @author Gretchen Bonilla
  *
  * @param <E>
@@ -74,6 +77,8 @@ public class SinglyLinkedList<E> implements List<E>{
 	
 	// Represent the first node in the list
 	private Node<E> head;
+	// Represent the last node in the list (null when the list is empty)
+	private Node<E> tail;
 	// Tracks the current size of the list
 	private int size;
 	
@@ -83,6 +88,7 @@ public class SinglyLinkedList<E> implements List<E>{
 	 */
 	public SinglyLinkedList() {
 		this.head = null;
+		this.tail = null;
 		this.size = 0;
 	}
 	
@@ -101,7 +107,7 @@ public class SinglyLinkedList<E> implements List<E>{
 
 	/**
 	 * Adds a new element to the list. In this case we appends a node with the value obj
-	 * to the end of the chain
+	 * to the end of the chain. Since we know which node is the last one there is no need to search for it.
 	 */
 	@Override
 	public void add(E obj) {
@@ -112,18 +118,51 @@ public class SinglyLinkedList<E> implements List<E>{
 		if(head == null)
 			head = newNode;
 		else {
-			// Lets search for the last node in the list
-			Node<E> temp = head;
-			while(temp.getNext() != null) {
-				temp = temp.getNext();
-			}
 			// Set the next of the last node to the new node.
-			// We now have a new last node
-			temp.setNext(newNode);
+			tail.setNext(newNode);
 		}
+		// We now have a new last node
+		tail = newNode;
 		this.size++;
 		
 	}
+	
+	/**
+	 * Adds a node with element obj at the front of the list. Same as add(0, obj).
+	 * 
+	 * @param obj - (E) the value that the new first node will hold
+	 */
+	public void addFirst(E obj) {
+		// The new node goes before the current head
+		head = new Node<E>(head, obj);
+		// If the list was empty the new node is also the last one
+		if(tail == null)
+			tail = head;
+		this.size++;
+	}
+	
+	/**
+	 * Removes the first node of the list and returns its element.
+	 * 
+	 * @return (E) the element that was at the front of the list
+	 * @throws NoSuchElementException if the list is empty
+	 */
+	public E removeFirst() {
+		if(this.isEmpty())
+			throw new NoSuchElementException();
+		// Get the node to be removed
+		Node<E> holdNode = this.head;
+		E value = holdNode.getElement();
+		// The second node becomes the first one
+		this.head = holdNode.getNext();
+		// If there is no second node the list is now empty
+		if(this.head == null)
+			this.tail = null;
+		// Help gc
+		holdNode.clear();
+		size--;
+		return value;
+	}
 	/**
 	 * Finds the node whose position is index
 	 * @param index - (int) position of the node we want to find
@@ -135,6 +174,9 @@ public class SinglyLinkedList<E> implements List<E>{
 		// Check the index is valid
 		if(index < 0 || index >=size)
 			throw new IndexOutOfBoundsException();
+		// The last node doesn't need a walk
+		if(index == size - 1)
+			return tail;
 		// We start at head
 		Node<E> temp = head;
 		// Move through the list until we find the node at position index
@@ -164,6 +206,14 @@ public class SinglyLinkedList<E> implements List<E>{
 			newNode.setNext(head);
 			// Make head point to the new node since it is now the first node
 			head = newNode;
+			// If the list was empty it is also the last node
+			if(tail == null)
+				tail = newNode;
+		}
+		// If index is size the node goes after the last one
+		else if(index == size) {
+			tail.setNext(newNode);
+			tail = newNode;
 		}
 		// If index is any position other than 0
 		else {
@@ -248,7 +298,7 @@ public class SinglyLinkedList<E> implements List<E>{
 	@Override
 	public boolean remove(int index) {
 		// Check index is valid
-		if(index < 0 || index > size)
+		if(index < 0 || index >= size)
 			throw new IndexOutOfBoundsException();
 		// If it's the first node
 		if(index == 0) {
@@ -259,6 +309,9 @@ public class SinglyLinkedList<E> implements List<E>{
 			 * Notice this still works if there is only one node. 
 			 */
 			this.head = this.head.getNext();
+			// If that was the only node there is no last node anymore
+			if(this.head == null)
+				this.tail = null;
 			// Help gc
 			holdNode.clear();
 		}
@@ -285,6 +338,9 @@ public class SinglyLinkedList<E> implements List<E>{
 			Node<E> nodeToRemove = previousNode.getNext();
 			// Update references
 			previousNode.setNext(nodeToRemove.getNext());
+			// If we removed the last node, the one before it is the new last node
+			if(nodeToRemove == tail)
+				tail = previousNode;
 			// Help GC
 			nodeToRemove.clear();
 		}
@@ -337,28 +393,17 @@ public class SinglyLinkedList<E> implements List<E>{
 	}
 
 	/**
-	 * Removes all nodes from the list. By the end size is 0 and head is null.
+	 * Removes all nodes from the list. By the end size is 0 and head and tail are null.
+	 * 
+	 * This is O(1): once nothing references the first node the whole chain is unreachable,
+	 * so the garbage collector takes care of it without us visiting every node.
 	 */
 	@Override
 	public void clear() {
-		// Get first node
-//		Node<E> temp = head;
-//		// Iterate through list
-//		while(temp != null) {
-//			// Hold the current node for elimination
-//			Node<E> holdNode = temp;
-//			// Move to next node
-//			temp =temp.getNext();
-//			// Clear node
-//			holdNode.clear();
-//			
-//		}
-		
-		// Does this work???
-		while(!isEmpty()) remove(0);
 		// Reset values for empty list
 		size = 0;
-		head = null;		
+		head = null;
+		tail = null;
 	}
 
 	/**
@@ -389,6 +434,9 @@ public class SinglyLinkedList<E> implements List<E>{
 					Node<E> holdNode = currentNode;
 					// Update references
 					previousNode.setNext(currentNode.getNext());
+					// If we are removing the last node, the previous one is the new last node
+					if(holdNode == tail)
+						tail = previousNode;
 					currentNode = currentNode.getNext();
 					holdNode.clear();
 					// Need to decrease size as we remove a node
@@ -453,7 +501,7 @@ public class SinglyLinkedList<E> implements List<E>{
 	public E last() {
 		if(this.isEmpty())
 			throw new NoSuchElementException();
-		return this.get(size-1);
+		return this.tail.getElement();
 	}
 	/**
 	 * Returns a String version of the SinglyLinkedList. 
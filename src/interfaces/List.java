@@ -113,4 +113,44 @@ public interface List<E> extends Iterable<E> {
 	 */
 	public E last();
 	
+	/**
+	 * Adds every element of other to the end of the List, in order. Same as calling add for each one.
+	 * @param other - the List whose elements we want to add, it can't be this List
+	 */
+	public default void addAll(List<? extends E> other) {
+		this.ensureCapacity(this.size() + other.size());
+		for(E e : other)
+			this.add(e);
+	}
+	
+	/**
+	 * Makes room for at least minCapacity elements so adding up to that many doesn't have to grow the List again.
+	 * Lists that don't preallocate space (like the linked ones) ignore it.
+	 * @param minCapacity - how many elements the List should be able to hold
+	 */
+	public default void ensureCapacity(int minCapacity) {
+	}
+	
+	/**
+	 * Removes the elements from position from to position to - 1. The elements after them move to position from.
+	 * @param from - position of the first element to remove
+	 * @param to - position after the last element to remove
+	 * @throws IndexOutOfBoundsException if from is negative, to is bigger than the size or from is bigger than to
+	 */
+	public default void removeRange(int from, int to) {
+		if(from < 0 || to > this.size() || from > to)
+			throw new IndexOutOfBoundsException();
+		for(int i = from; i < to; i++)
+			this.remove(from);
+	}
+	
+	/**
+	 * Returns a number that changes every time the List is modified (elements added, replaced or removed),
+	 * so a caller can tell whether the List changed without looking at its elements.
+	 * @return (int) the count, or -1 if this List doesn't keep one
+	 */
+	public default int modificationCount() {
+		return -1;
+	}
+	
 }
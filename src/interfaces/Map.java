@@ -1,6 +1,10 @@
 package interfaces;
 
 import java.io.PrintStream;
+import java.util.Iterator;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 /**
  * 
  * @author Fernando J Bermudez (bermed28)
@@ -17,4 +21,104 @@ public interface Map<K,V> {
 	public List<K> getKeys();
 	public List<V> getValues();
 	public void print(PrintStream out);
-}
\ No newline at end of file
+
+	/*
+	 * The operations below are written in terms of get/put/remove/getKeys so every map has them.
+	 * Implementations should override them to find the key only once, and to go over the
+	 * entries without copying the keys. The functions they receive must not modify the map.
+	 */
+
+	/**
+	 * Calls action on every entry. The order is unspecified.
+	 */
+	public default void forEach(BiConsumer<? super K, ? super V> action) {
+		for (K key : getKeys()) {
+			action.accept(key, get(key));
+		}
+	}
+
+	/**
+	 * Returns the entries of the map, to be used in a for-each loop. The order is unspecified.
+	 * The map must not be modified while the entries are being iterated.
+	 */
+	public default Iterable<Entry<K, V>> entries() {
+		return () -> new Iterator<Entry<K, V>>() {
+			private Iterator<K> keys = getKeys().iterator();
+
+			@Override
+			public boolean hasNext() {
+				return keys.hasNext();
+			}
+
+			@Override
+			public Entry<K, V> next() {
+				K key = keys.next();
+				V value = get(key);
+				return new Entry<K, V>() {
+					@Override
+					public K getKey() {return key;}
+					@Override
+					public V getValue() {return value;}
+				};
+			}
+		};
+	}
+
+	/**
+	 * Returns the value of key, or defaultValue if the key isn't present.
+	 */
+	public default V getOrDefault(K key, V defaultValue) {
+		V value = get(key);
+		return value == null ? defaultValue : value;
+	}
+
+	/**
+	 * Associates value to key only if the key isn't present.
+	 * @return (V) the value that was already there, null if value was added
+	 */
+	public default V putIfAbsent(K key, V value) {
+		V current = get(key);
+		if(current == null) put(key, value);
+		return current;
+	}
+
+	/**
+	 * Returns the value of key. If the key isn't present, the value is created with mappingFunction
+	 * and added (unless the function returns null).
+	 * @return (V) the current value of key, null if there is none
+	 */
+	public default V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+		V current = get(key);
+		if(current != null) return current;
+		V value = mappingFunction.apply(key);
+		if(value != null) put(key, value);
+		return value;
+	}
+
+	/**
+	 * Adds value to key if the key isn't present, otherwise replaces the value with
+	 * remappingFunction(current value, value). If that returns null the key is removed.
+	 * @return (V) the new value of key, null if it was removed
+	 */
+	public default V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+		if(value == null) throw new IllegalArgumentException("Invalid parameters");
+		V current = get(key);
+		V result = current == null ? value : remappingFunction.apply(current, value);
+		if(result == null) remove(key);
+		else put(key, result);
+		return result;
+	}
+
+	/**
+	 * Replaces the value of key with remappingFunction(key, current value), where the current value is null
+	 * if the key isn't present. If the function returns null the key is removed (or not added).
+	 * @return (V) the new value of key, null if there is none
+	 */
+	public default V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+		V current = get(key);
+		V result = remappingFunction.apply(key, current);
+		if(result != null) put(key, result);
+		else if(current != null) remove(key);
+		return result;
+	}
+}
@@ -1,4 +1,7 @@
 package interfaces;
+
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
 /**
  * This is a data ADT that doesn't use positions only the order of arrival.
  * Its FIFO, which means that the first item to arruve is the first item to leave the Queue
@@ -36,4 +39,31 @@ public interface Queue<E> {
 	 * @return
 	 */
 	public E front();
+	/**
+	 * Removes up to max items from the front of the Queue and gives them to sink, in order.
+	 * Same as calling dequeue() that many times.
+	 * @param sink - receives the removed items, it must not modify the Queue
+	 * @param max - the most items to remove
+	 * @return (int) how many items were removed
+	 */
+	public default int drainTo(Consumer<? super E> sink, int max) {
+		int removed = 0;
+		while(removed < max && !this.isEmpty()) {
+			sink.accept(this.dequeue());
+			removed++;
+		}
+		return removed;
+	}
+	/**
+	 * Removes the front item and adds obj at the end of the Queue, in one step.
+	 * Same as dequeue() followed by enqueue(obj).
+	 * @param obj - the item to add
+	 * @return (E) the item that was at the front
+	 * @throws NoSuchElementException if the Queue is empty
+	 */
+	public default E shift(E obj) {
+		E oldValue = this.dequeue();
+		this.enqueue(obj);
+		return oldValue;
+	}
 }
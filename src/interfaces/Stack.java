@@ -1,6 +1,7 @@
 package interfaces;
 
 import java.util.NoSuchElementException;
+import java.util.function.Consumer;
 
 public interface Stack<E> {
 	/**
@@ -35,5 +36,33 @@ public interface Stack<E> {
 	 * Empties the Stack, by removing everything.
 	 */
 	public void clear();
+	/**
+	 * Pushes values[from] to values[to - 1], in that order, so values[to - 1] ends up at the top.
+	 * @param values - the items to add
+	 * @param from - position of the first item to push
+	 * @param to - position after the last item to push
+	 * @throws IndexOutOfBoundsException if the range is not inside values
+	 * @throws IllegalArgumentException if the Stack doesn't allow one of the items
+	 */
+	public default void pushAll(E[] values, int from, int to) {
+		if(from < 0 || from > to || to > values.length)
+			throw new IndexOutOfBoundsException();
+		for(int i = from; i < to; i++)
+			this.push(values[i]);
+	}
+	/**
+	 * Pops every item, from the top to the bottom, and gives each one to action.
+	 * Same as calling pop() until the Stack is empty.
+	 * @param action - receives the popped items, it must not modify the Stack
+	 * @return (int) how many items were popped
+	 */
+	public default int popAll(Consumer<? super E> action) {
+		int popped = 0;
+		while(!this.isEmpty()) {
+			action.accept(this.pop());
+			popped++;
+		}
+		return popped;
+	}
 
 }
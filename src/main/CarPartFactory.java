@@ -1,13 +1,22 @@
 package main;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
+import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 
 import data_structures.ArrayList;
+import data_structures.ArrayStack;
 import data_structures.BasicHashFunction;
 import data_structures.HashTableSC;
-import data_structures.LinkedStack;
+import data_structures.IntIntHashMap;
+import data_structures.InventoryBin;
+import interfaces.Entry;
 import interfaces.List;
 import interfaces.Map;
 import interfaces.Stack;
@@ -19,12 +28,27 @@ import interfaces.Stack;
  */
 public class CarPartFactory {
 	
+	/**
+	 * Size in bytes from which setupOrders(path) memory maps the orders file and parses it in parallel.
+	 */
+	public static final long MAPPED_LOADING_THRESHOLD = 64L << 20;
+	
+	// Room for the requested parts of an order while its line is read, it grows for longer orders
+	private static final int REQUESTED_PARTS_HINT = 8;
+	
 	private List<PartMachine> machines = new ArrayList<>();
-    private Stack<CarPart> productionBin = new LinkedStack<>();
+    private Stack<CarPart> productionBin = new ArrayStack<>();
     private Map<Integer, CarPart> partCatalog = new HashTableSC<>(10, new BasicHashFunction());
     private Map<Integer, List<CarPart>> inventory = new HashTableSC<>(10, new BasicHashFunction());
-    private Map<Integer, Integer> defectives = new HashTableSC<>(10, new BasicHashFunction());
+    private IntIntHashMap defectives = new IntIntHashMap();
     private List<Order> orders = new ArrayList<>();
+    private boolean eventDriven = false;
+    private ForkJoinPool pool = null;
+    private OrderIndex orderIndex = new OrderIndex();
+    private boolean dailyOrderProcessing = false;
+    private boolean countsOnlyInventory = false;
+    private boolean columnarInventory = false;
+    private int daysRun = 0;
         
     /**
      * Constructs a new CarPartFactory by setting up machines, orders, catalog, and inventory.
@@ -42,6 +66,26 @@ public class CarPartFactory {
 	        setupInventory();    
     }
     
+    /**
+     * Constructs an empty factory, used by replicate().
+     */
+    private CarPartFactory() {
+    }
+    
+    /**
+     * Constructs a new CarPartFactory whose machines are seeded from the given master seed,
+     * so running it twice with the same seed produces identical parts.
+     *
+     * @param orderPath The path to the file containing order information.
+     * @param partsPath The path to the file containing machine and part information.
+     * @param seed      The master seed for the machines' random sources.
+     * @throws IOException If there is an issue reading the files.
+     */
+    public CarPartFactory(String orderPath, String partsPath, long seed) throws IOException {
+    	this(orderPath, partsPath);
+    	setSeed(seed);
+    }
+    
     /**
      * Retrieves the list of machines in the factory.
      *
@@ -97,7 +141,9 @@ public class CarPartFactory {
     }
     
     /**
-     * Retrieves the inventory map.
+     * Retrieves the inventory map. With columnar inventory the parts in the lists are views of the
+     * columns (see PartBatch): changing their weight or defective flag changes the inventory, while
+     * changing their id or name copies them out of it.
      *
      * @return The inventory map.
      */
@@ -135,53 +181,304 @@ public class CarPartFactory {
     /**
      * Retrieves the map of defective parts.
      *
-     * @return The map of defective parts.
+     * @return The map of defective parts, backed by the factory's defective counts.
      */
     public Map<Integer, Integer> getDefectives() {
-        return defectives;
+        return defectives.asMap();
     }
     
     /**
-     * Sets the map of defective parts.
+     * Sets the map of defective parts. The counts are copied into the factory's own int map, so
+     * changes made to the given map afterwards are not seen by the factory (and the factory's counts
+     * never show up in it). Use the map returned by getDefectives() to change the counts later.
      *
-     * @param defectives The new map of defective parts.
+     * @param defectives The new map of defective parts, copied.
      */
     public void setDefectives(Map<Integer, Integer> defectives) {
-        this.defectives = defectives;
+        this.defectives = IntIntHashMap.copyOf(defectives);
+    }
+    
+    /**
+     * Checks whether runFactory processes the orders at the end of every day instead of once at the end.
+     *
+     * @return True if orders are processed every day.
+     */
+    public boolean isDailyOrderProcessing() {
+        return dailyOrderProcessing;
+    }
+    
+    /**
+     * Chooses when runFactory processes the orders. Every day, an order ships as soon as the inventory
+     * covers it, and the day it ships is recorded in the order. Each pass still goes first come, first
+     * served, so a day's decisions are the ones a run that ended that day would make.
+     *
+     * @param dailyOrderProcessing True to process orders every day, false to do it once after the last day.
+     */
+    public void setDailyOrderProcessing(boolean dailyOrderProcessing) {
+        this.dailyOrderProcessing = dailyOrderProcessing;
+    }
+    
+    /**
+     * Checks whether the inventory only counts the parts (see CountingBin) instead of keeping them.
+     *
+     * @return True if the inventory only counts parts.
+     */
+    public boolean isCountsOnlyInventory() {
+        return countsOnlyInventory;
+    }
+    
+    /**
+     * Chooses whether the inventory keeps every part or only counts them, along with statistics of
+     * their weights. Counting uses a fixed amount of memory per part type, no matter how many parts
+     * are made. Parts already in inventory are counted when switching to counts only; switching back
+     * is only possible while the inventory is empty, since counted parts can't be brought back.
+     *
+     * @param countsOnlyInventory True to only count parts, false to keep them.
+     * @throws IllegalStateException If switching back while counted parts are in inventory.
+     */
+    public void setCountsOnlyInventory(boolean countsOnlyInventory) {
+        switchInventory(countsOnlyInventory, countsOnlyInventory ? false : columnarInventory);
+    }
+    
+    /**
+     * Checks whether the inventory stores parts by columns (see PartBatch) instead of as CarPart objects.
+     *
+     * @return True if the inventory stores parts by columns.
+     */
+    public boolean isColumnarInventory() {
+        return columnarInventory;
+    }
+    
+    /**
+     * Chooses whether the inventory stores every part as a CarPart object or by columns, keeping only the
+     * weight and defective flag of each part. Both keep every part; the columns use about a quarter of
+     * the memory, and the parts they return are views of the columns (changing the id or name of a view
+     * copies it out of the columns instead). Parts already in inventory are moved to the new storage.
+     * Turning this on turns counts only inventory off.
+     *
+     * @param columnarInventory True to store parts by columns, false to store CarPart objects.
+     * @throws IllegalStateException If turning this off would bring back counted parts.
+     */
+    public void setColumnarInventory(boolean columnarInventory) {
+        switchInventory(columnarInventory ? false : countsOnlyInventory, columnarInventory);
+    }
+    
+    /**
+     * Moves the inventory to the given kind of storage.
+     *
+     * @param countsOnly Whether the new storage only counts parts.
+     * @param columnar   Whether the new storage keeps parts by columns.
+     * @throws IllegalStateException If counted parts would have to be turned back into parts.
+     */
+    private void switchInventory(boolean countsOnly, boolean columnar) {
+        if (countsOnly == countsOnlyInventory && columnar == columnarInventory) {
+            return;
+        }
+        for (Integer partId : inventory.getKeys()) {
+            if (countsOnlyInventory && !countsOnly && !inventory.get(partId).isEmpty()) {
+                throw new IllegalStateException("Counted parts can't be turned back into parts");
+            }
+        }
+        for (Integer partId : inventory.getKeys()) {
+            List<CarPart> parts = newInventoryBin(partId, countsOnly, columnar);
+            if (!countsOnlyInventory) {
+                for (CarPart part : inventory.get(partId)) {
+                    // Views of a batch are copied so the old batch can be released
+                    parts.add(columnarInventory && !columnar && !countsOnly
+                            ? new CarPart(part.getId(), part.getName(), part.getWeight(), part.isDetective()) : part);
+                }
+            }
+            inventory.put(partId, parts);
+        }
+        this.countsOnlyInventory = countsOnly;
+        this.columnarInventory = columnar;
+    }
+    
+    /**
+     * Retrieves how many days the factory has run, adding up every call to runFactory.
+     *
+     * @return The number of days.
+     */
+    public int getDaysRun() {
+        return daysRun;
+    }
+    
+    /**
+     * Checks whether runFactory uses the event-driven engine instead of ticking every minute.
+     *
+     * @return True if the event-driven engine is used.
+     */
+    public boolean isEventDriven() {
+        return eventDriven;
+    }
+    
+    /**
+     * Chooses the engine used by runFactory. Both engines produce the same parts in the same order;
+     * the event-driven one skips the minutes in which a machine delivers nothing.
+     *
+     * @param eventDriven True to use the event-driven engine, false to tick every minute.
+     */
+    public void setEventDriven(boolean eventDriven) {
+        this.eventDriven = eventDriven;
+    }
+    
+    /**
+     * Checks whether runFactory simulates the machines in parallel.
+     *
+     * @return True if the machines run in parallel.
+     */
+    public boolean isParallel() {
+        return pool != null;
+    }
+    
+    /**
+     * Makes runFactory simulate the machines in parallel on the common ForkJoin pool, or go back to
+     * a single thread. The parts are merged in the same order a sequential run produces them.
+     *
+     * @param parallel True to run the machines in parallel.
+     */
+    public void setParallel(boolean parallel) {
+        setPool(parallel ? ForkJoinPool.commonPool() : null);
+    }
+    
+    /**
+     * Makes runFactory simulate the machines in parallel on the given pool.
+     *
+     * @param pool The pool to use, or null to run on a single thread.
+     */
+    public void setPool(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+    
+    /**
+     * Creates an independent copy of this factory without reading the input files again.
+     * Machines, orders, inventory and defective counts are copied; the catalog, the parts already in
+     * inventory and the orders' requested parts are shared since running the factory never modifies them.
+     * The copy runs on a single thread with the same engine as this factory, and its machines are
+     * seeded from the given seed. This factory must not be running while it is copied.
+     *
+     * @param seed The master seed for the copy's machines.
+     * @return The copy.
+     */
+    public CarPartFactory replicate(long seed) {
+        CarPartFactory copy = new CarPartFactory();
+        SplittableRandom master = new SplittableRandom(seed);
+        for (PartMachine machine : machines) {
+            copy.machines.add(machine.copy(master.split()));
+        }
+        for (Order order : orders) {
+            Order orderCopy = new Order(order.getId(), order.getCustomerName(), order.getRequestedParts(), order.isFulfilled());
+            orderCopy.setFulfilledDay(order.getFulfilledDay());
+            copy.orders.add(orderCopy);
+        }
+        copy.partCatalog = partCatalog;
+        inventory.forEach((partId, parts) -> {
+            if (parts instanceof CountingBin) {
+                copy.inventory.put(partId, ((CountingBin) parts).copy());
+                return;
+            }
+            if (parts instanceof PartBatch) {
+                copy.inventory.put(partId, ((PartBatch) parts).copy());
+                return;
+            }
+            List<CarPart> partsCopy = new InventoryBin<>();
+            partsCopy.addAll(parts);
+            copy.inventory.put(partId, partsCopy);
+        });
+        copy.defectives = defectives.copy();
+        copy.eventDriven = eventDriven;
+        copy.dailyOrderProcessing = dailyOrderProcessing;
+        copy.countsOnlyInventory = countsOnlyInventory;
+        copy.columnarInventory = columnarInventory;
+        copy.daysRun = daysRun;
+        return copy;
+    }
+    
+    /**
+     * Gives every machine its own random source, split in machine order from a master
+     * source with the given seed.
+     *
+     * @param seed The master seed.
+     */
+    public void setSeed(long seed) {
+        SplittableRandom master = new SplittableRandom(seed);
+        for (PartMachine machine : machines) {
+            machine.setRandom(master.split());
+        }
     }
     
     /**
      * Reads order information from a file and sets up the list of orders.
+     * Files of MAPPED_LOADING_THRESHOLD bytes or more are memory mapped and parsed in parallel.
      *
      * @param path The path to the file containing order information.
      * @throws IOException If there is an issue reading the file.
      */
     public void setupOrders(String path) throws IOException {
     	validateNotNullOrEmpty(path, "Path cannot be null");
+    	setupOrders(path, new File(path).length() >= MAPPED_LOADING_THRESHOLD);
+    }
+    
+    /**
+     * Reads order information from a file and sets up the list of orders.
+     * Both ways of reading give the same orders in the same order.
+     *
+     * @param path   The path to the file containing order information.
+     * @param mapped Whether to memory map the file and parse sections of it in parallel (on the factory's pool,
+     *               or the common pool if the factory is sequential) instead of reading it from start to end.
+     * @throws IOException If there is an issue reading the file.
+     */
+    public void setupOrders(String path, boolean mapped) throws IOException {
+    	validateNotNullOrEmpty(path, "Path cannot be null");
+    	
+    	if (mapped) {
+    	    try {
+    	        MappedOrderLoader.load(Paths.get(path), pool != null ? pool : ForkJoinPool.commonPool(), this.getOrders());
+    	    } catch (IOException | UncheckedIOException e) {
+    	        System.out.println("File cannot be read");
+    	        e.printStackTrace();
+    	    }
+    	    return;
+    	}
     	
-        try (BufferedReader br = new BufferedReader(new FileReader(path))){
-            br.readLine(); 
-            String line;
+        try (FileChannel channel = FileChannel.open(Paths.get(path))) {
+            CsvReader reader = new CsvReader(channel);
+            reader.skipLine();
             
-            while ((line = br.readLine()) != null && !line.isEmpty()) {
-                
-            	String[] values = line.split(",");
-                int id = Integer.parseInt(values[0]);
-                String customerName = values[1];
-                Map<Integer, Integer> requestedParts = createRequestedPartsMap(values[2]);
+            // Orders end at the first empty line
+            while (reader.hasMore() && !reader.atLineEnd()) {
+                Order order = readOrder(reader);
                 
                 try {
-                    this.getOrders().add(new Order(id, customerName, requestedParts, false));
+                    this.getOrders().add(order);
                 } catch (NullPointerException e) {
                     System.out.println("Unable to add order: " + e.getMessage());
                 }
             }
-        } catch (IOException e) {
+        } catch (IOException | UncheckedIOException e) {
             System.out.println("File cannot be read");
             e.printStackTrace();
         }
     }
     
+    /**
+     * Reads an order line in the format: {id},{customer name},{requested parts}
+     * Any columns after the requested parts are ignored.
+     *
+     * @param reader The reader, at the start of the line.
+     * @return The order.
+     * @throws CsvFormatException If the line is malformed.
+     */
+    static Order readOrder(CsvReader reader) {
+        int id = reader.readInt();
+        reader.expect(',');
+        String customerName = reader.readField();
+        reader.expect(',');
+        Map<Integer, Integer> requestedParts = readRequestedParts(reader);
+        reader.endRecord();
+        return new Order(id, customerName, requestedParts, false);
+    }
+    
     /**
      * Reads machine and part information from a file and sets up the list of machines.
      *
@@ -191,29 +488,54 @@ public class CarPartFactory {
     public void setupMachines(String path) throws IOException {
     	validateNotNullOrEmpty(path, "Path cannot be null");
     	
-        try (BufferedReader br = new BufferedReader(new FileReader(path))) {
-            br.readLine(); // Skip header
-            String line;
+        try (FileChannel channel = FileChannel.open(Paths.get(path))) {
+            CsvReader reader = new CsvReader(channel);
+            reader.skipLine(); // Skip header
             
-            while ((line = br.readLine()) != null) {
-                
-            	String[] values = line.split(",");
+            while (reader.hasMore()) {
+                if (reader.atLineEnd()) {
+                    reader.endLine();
+                    continue;
+                }
                 try {
-                    CarPart carPart = new CarPart(Integer.parseInt(values[0]), values[1], Double.parseDouble(values[2]), false);
-                    PartMachine partMachine = new PartMachine(Integer.parseInt(values[0]), carPart, Integer.parseInt(values[4]), Double.parseDouble(values[3]), Integer.parseInt(values[5]));
-                    this.getMachines().add(partMachine);
-                } catch (NumberFormatException e) {
-                    System.err.println("Error parsing ID: " + e.getMessage());
+                    this.getMachines().add(readMachine(reader));
+                } catch (CsvFormatException e) {
+                    System.err.println("Error parsing machine: " + e.getMessage());
+                    reader.skipLine();
                 } catch (NullPointerException e) {
                     System.out.println("Unable to add machine: " + e.getMessage());
                 }
             }
-        } catch (IOException e) {
+        } catch (IOException | UncheckedIOException e) {
             System.out.println(path + " not found");
             e.printStackTrace();
         }
     }
     
+    /**
+     * Reads a machine line in the format: {id},{part name},{weight},{weight error},{period},{chance of defective}
+     * Any columns after the chance of defective are ignored.
+     *
+     * @param reader The reader, at the start of the line.
+     * @return The machine, making parts with the line's id and name.
+     * @throws CsvFormatException If the line is malformed.
+     */
+    private PartMachine readMachine(CsvReader reader) {
+        int id = reader.readInt();
+        reader.expect(',');
+        String name = reader.readField();
+        reader.expect(',');
+        double weight = reader.readDouble();
+        reader.expect(',');
+        double weightError = reader.readDouble();
+        reader.expect(',');
+        int period = reader.readInt();
+        reader.expect(',');
+        int chanceOfDefective = reader.readInt();
+        reader.endRecord();
+        return new PartMachine(id, new CarPart(id, name, weight, false), period, weightError, chanceOfDefective);
+    }
+    
     /**
      * Sets up the part catalog map based on the machines.
      */
@@ -228,24 +550,48 @@ public class CarPartFactory {
      */
     public void setupInventory() {
     	 for (PartMachine machine : machines) {
-             inventory.put(machine.getPart().getId(), new ArrayList<>());
+             inventory.put(machine.getPart().getId(), newInventoryBin(machine.getPart().getId(), countsOnlyInventory, columnarInventory));
              defectives.put(machine.getPart().getId(), 0);
          }
     }
     
+    /**
+     * Creates an empty inventory list for a part.
+     *
+     * @param partId     The id of the part.
+     * @param countsOnly Whether the list only counts the parts.
+     * @param columnar   Whether the list stores the parts by columns.
+     * @return The list.
+     */
+    private List<CarPart> newInventoryBin(int partId, boolean countsOnly, boolean columnar) {
+        CarPart part = partCatalog.get(partId);
+        String name = part == null ? null : part.getName();
+        if (countsOnly) {
+            return new CountingBin(partId, name);
+        }
+        if (columnar) {
+            return new PartBatch(partId, name);
+        }
+        return new InventoryBin<>();
+    }
+    
     /**
      * Transfers parts from the production bin to inventory, updating defectives count.
      */
     public void storeInInventory() {
-    	while (!productionBin.isEmpty()) {
-            CarPart part = productionBin.pop();
-            if (part.isDetective()) {
-                int currentCount = defectives.get(part.getId());
-                defectives.put(part.getId(), currentCount + 1);
-            } else {
-                ArrayList<CarPart> currentInventory = (ArrayList<CarPart>) inventory.get(part.getId());
-                currentInventory.add(part);
-            }
+        productionBin.popAll(this::storePart);
+    }
+    
+    /**
+     * Puts a part from the production bin in its inventory, or counts it as defective.
+     *
+     * @param part The part to store.
+     */
+    private void storePart(CarPart part) {
+        if (part.isDetective()) {
+            defectives.addTo(part.getId(), 1);
+        } else {
+            inventory.get(part.getId()).add(part);
         }
     }
     
@@ -262,40 +608,67 @@ public class CarPartFactory {
 	    List<PartMachine> machines = getMachines();
 
 	    for (int i = 0; i < days; i++) {
-	        for (int j = 0; j < minutes; j++) {
-	            for (PartMachine machine : machines) {
-	                CarPart part = machine.produceCarPart();
-
-	                if (part != null) {
-	                    getProductionBin().push(part);
-	                }
-	            }
+	        daysRun++;
+	        if (isParallel()) {
+	            ParallelEngine.runDay(machines, minutes, getProductionBin(), isEventDriven(), pool);
+	        } else if (isEventDriven()) {
+	            EventDrivenEngine.runDay(machines, minutes, getProductionBin());
+	        } else {
+	            runDay(machines, minutes);
 	        }
 
-	        for (PartMachine machine : machines) {
-	            while (!machine.getConveyorBelt().isEmpty()) {
-	                CarPart part = machine.getConveyorBelt().dequeue();
-
-	                if (part != null) {
-	                    getProductionBin().push(part);
-	                }
-	            }
+	        storeInInventory();
+	        if (isDailyOrderProcessing()) {
+	            processOrders();
 	        }
+	    }
 
-	        storeInInventory();
+	    if (!isDailyOrderProcessing()) {
+	        processOrders();
 	    }
+    }
+    
+    /**
+     * Runs a day minute by minute, then empties the conveyor belts into the production bin.
+     *
+     * @param machines The machines to run.
+     * @param minutes  The number of minutes in the day.
+     */
+    private void runDay(List<PartMachine> machines, int minutes) {
+        for (int j = 0; j < minutes; j++) {
+            for (PartMachine machine : machines) {
+                CarPart part = machine.produceCarPart();
+
+                if (part != null) {
+                    getProductionBin().push(part);
+                }
+            }
+        }
 
-	    processOrders();
+        Stack<CarPart> bin = getProductionBin();
+        Consumer<CarPart> toBin = part -> {
+            if (part != null) {
+                bin.push(part);
+            }
+        };
+        for (PartMachine machine : machines) {
+            machine.getConveyorBelt().drainTo(toBin, machine.getConveyorBelt().size());
+        }
     }
 
     /**
      * Processes orders, updating inventory and setting orders as fulfilled if possible.
+     * Orders that are already fulfilled are skipped.
      */
     public void processOrders() {
-    	for (Order order : this.getOrders()) {
+        // Only the orders the inventory can cover are visited, first come first served
+        orderIndex.sync(this.getOrders(), this.getInventory());
+        for (Order order = orderIndex.nextReady(); order != null; order = orderIndex.nextReady()) {
             if (isOrderFulfilled(order)) {
                 updateInventory(order);
                 order.setFulfilled(true);
+                order.setFulfilledDay(daysRun);
+                orderIndex.fulfilled(this.getInventory());
             }
         }
     }
@@ -307,11 +680,18 @@ public class CarPartFactory {
      * @return True if the order can be fulfilled, false otherwise.
      */
     private boolean isOrderFulfilled(Order order) {
-        List<Integer> orderKeys = order.getRequestedParts().getKeys();
-        for (int key : orderKeys) {
-            int requestedQuantity = order.getRequestedParts().get(key);
-            int availableQuantity = this.getInventory().get(key).size();
-            if (availableQuantity < requestedQuantity) {
+        RequestedParts parts = requestedQuantities(order);
+        if (parts != null) {
+            for (int i = 0; i < parts.size(); i++) {
+                if (this.getInventory().get(parts.partIdAt(i)).size() < parts.quantityAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        for (Entry<Integer, Integer> requested : order.getRequestedParts().entries()) {
+            int availableQuantity = this.getInventory().get(requested.getKey()).size();
+            if (availableQuantity < requested.getValue()) {
                 return false;
             }
         }
@@ -324,13 +704,42 @@ public class CarPartFactory {
      * @param order The fulfilled order.
      */
     private void updateInventory(Order order) {
-        List<Integer> orderKeys = order.getRequestedParts().getKeys();
-        for (int key : orderKeys) {
-            int requestedQuantity = order.getRequestedParts().get(key);
-            for (int i = 0; i < requestedQuantity; i++) {
-                this.getInventory().get(key).remove(0);
+        RequestedParts parts = requestedQuantities(order);
+        if (parts != null) {
+            for (int i = 0; i < parts.size(); i++) {
+                removeFromInventory(parts.partIdAt(i), parts.quantityAt(i));
             }
+            return;
         }
+        order.getRequestedParts().forEach(this::removeFromInventory);
+    }
+    
+    /**
+     * Removes the given amount of parts from the front of a part's inventory.
+     * Inventory bins and part batches drop them in one step, other lists one at a time.
+     *
+     * @param partId   The id of the part.
+     * @param quantity How many parts to remove, a quantity of 0 or less removes nothing.
+     */
+    private void removeFromInventory(int partId, int quantity) {
+        if (quantity <= 0) {
+            return;
+        }
+        this.getInventory().get(partId).removeRange(0, quantity);
+    }
+    
+    /**
+     * Returns the requested parts of an order in their compact form, if the order was built with it.
+     *
+     * @param order The order.
+     * @return The compact requested parts, or null if the order uses another Map implementation.
+     */
+    static RequestedParts requestedQuantities(Order order) {
+        Map<Integer, Integer> requestedParts = order.getRequestedParts();
+        if (requestedParts instanceof RequestedParts) {
+            return (RequestedParts) requestedParts;
+        }
+        return null;
     }
     
     /**
@@ -374,26 +783,35 @@ public class CarPartFactory {
     }
     
     /**
-     * Creates a map of requested parts from the given string.
+     * Reads the requested parts of an order in the format: ({part id} {quantity})-({part id} {quantity})...
+     * Quantities of a part that appears more than once are added together.
      *
-     * @param partsString The string containing part information.
-     * @return The map of requested parts.
+     * @param reader The reader, at the start of the requested parts.
+     * @return The requested parts, in their compact read-only form.
+     * @throws CsvFormatException If the requested parts are malformed.
      */
-    private Map<Integer, Integer> createRequestedPartsMap(String partsString) {
-    	 Map<Integer, Integer> requestedParts = new HashTableSC<>(10, new BasicHashFunction());
-    	    String[] partQuantities = partsString.split("-");
-    	    for (String partQuantity : partQuantities) {
-    	        String[] pair = partQuantity.replaceAll("[()]", "").split(" ");
-    	        int partId = Integer.parseInt(pair[0]);
-    	        int quantity = Integer.parseInt(pair[1]);
-
-    	        if (requestedParts.containsKey(partId)) {
-    	            requestedParts.put(partId, requestedParts.get(partId) + quantity);
-    	        } else {
-    	            requestedParts.put(partId, quantity);
-    	        }
+    private static Map<Integer, Integer> readRequestedParts(CsvReader reader) {
+    	int[] partIds = new int[REQUESTED_PARTS_HINT];
+    	int[] quantities = new int[REQUESTED_PARTS_HINT];
+    	int count = 0;
+    	do {
+    	    boolean open = reader.skipIf('(');
+    	    int partId = reader.readInt();
+    	    if (!reader.skipIf(' ')) {
+    	        throw reader.error("expected ' ' between part id and quantity");
+    	    }
+    	    int quantity = reader.readInt();
+    	    if (open) {
+    	        reader.expect(')');
+    	    }
+    	    if (count == partIds.length) {
+    	        partIds = Arrays.copyOf(partIds, 2 * count);
+    	        quantities = Arrays.copyOf(quantities, 2 * count);
     	    }
-    	    return requestedParts;
+    	    partIds[count] = partId;
+    	    quantities[count++] = quantity;
+    	} while (reader.skipIf('-'));
+    	return RequestedParts.of(partIds, quantities, count);
     }
     
     /**
@@ -406,7 +824,7 @@ public class CarPartFactory {
         report += "Parts Produced per Machine\n";
         for (PartMachine machine : this.getMachines()) {
             report += machine + "\t(" + 
-            this.getDefectives().get(machine.getPart().getId()) +" defective)\t(" + 
+            this.getDefectives().getOrDefault(machine.getPart().getId(), 0) +" defective)\t(" + 
             this.getInventory().get(machine.getPart().getId()).size() + " in inventory)\n";
         }
        
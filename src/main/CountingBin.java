@@ -0,0 +1,311 @@
+package main;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import interfaces.List;
+
+/**
+ * Inventory of a single part that only counts the parts instead of keeping them.
+ *
+ * Adding a part just adds one to the count and feeds its weight to running statistics (minimum, maximum,
+ * mean and variance, computed with Welford's method), so the part itself can be garbage collected right
+ * away. Removing takes one from the count. The statistics cover every part ever added, including the ones
+ * that left with an order.
+ *
+ * Since the parts aren't kept, the operations that return a part (get, set, first, last and iterating)
+ * return a representative part instead: a new CarPart with this bin's id and name, the mean weight of the
+ * parts added and not defective. Iterating gives size() of them. Changing a returned part doesn't change
+ * the bin. Everything the factory does with its inventory (size, add, remove(0)) works as with any other list.
+ *
+ * @author Eliel Cruz Felix
+ */
+public class CountingBin implements List<CarPart> {
+
+	private int partId;
+	private String name;
+	private int size;
+	private long added;
+	private double minWeight = Double.NaN;
+	private double maxWeight = Double.NaN;
+	private double meanWeight = Double.NaN;
+	// Sum of squared differences from the mean, the variance is this divided by added
+	private double squaredDeviations;
+
+	/**
+	 * Creates an empty bin for the given part, whose representative parts have no name.
+	 *
+	 * @param partId The id of the parts counted by this bin.
+	 */
+	public CountingBin(int partId) {
+		this(partId, null);
+	}
+
+	/**
+	 * Creates an empty bin for the given part.
+	 *
+	 * @param partId The id of the parts counted by this bin.
+	 * @param name   The name of the parts, used for the representative parts.
+	 */
+	public CountingBin(int partId, String name) {
+		this.partId = partId;
+		this.name = name;
+	}
+
+	/**
+	 * Creates an independent copy of this bin, with the same count and statistics.
+	 *
+	 * @return The copy.
+	 */
+	public CountingBin copy() {
+		CountingBin copy = new CountingBin(partId, name);
+		copy.size = size;
+		copy.added = added;
+		copy.minWeight = minWeight;
+		copy.maxWeight = maxWeight;
+		copy.meanWeight = meanWeight;
+		copy.squaredDeviations = squaredDeviations;
+		return copy;
+	}
+
+	/**
+	 * Retrieves the id of the parts counted by this bin.
+	 *
+	 * @return The part id.
+	 */
+	public int getPartId() {
+		return partId;
+	}
+
+	/**
+	 * Retrieves how many parts were ever added to the bin.
+	 *
+	 * @return The number of parts added.
+	 */
+	public long getAdded() {
+		return added;
+	}
+
+	/**
+	 * Retrieves the weight of the lightest part added.
+	 *
+	 * @return The minimum weight, NaN if no part was added.
+	 */
+	public double getMinWeight() {
+		return minWeight;
+	}
+
+	/**
+	 * Retrieves the weight of the heaviest part added.
+	 *
+	 * @return The maximum weight, NaN if no part was added.
+	 */
+	public double getMaxWeight() {
+		return maxWeight;
+	}
+
+	/**
+	 * Retrieves the mean weight of the parts added.
+	 *
+	 * @return The mean weight, NaN if no part was added.
+	 */
+	public double getMeanWeight() {
+		return meanWeight;
+	}
+
+	/**
+	 * Retrieves the (population) variance of the weight of the parts added.
+	 *
+	 * @return The variance, NaN if no part was added.
+	 */
+	public double getWeightVariance() {
+		return added == 0 ? Double.NaN : squaredDeviations / added;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Counts the part and adds its weight to the statistics.
+	 */
+	@Override
+	public void add(CarPart part) {
+		double weight = part.getWeight();
+		added++;
+		if (added == 1) {
+			minWeight = weight;
+			maxWeight = weight;
+			meanWeight = weight;
+		} else {
+			minWeight = Math.min(minWeight, weight);
+			maxWeight = Math.max(maxWeight, weight);
+			double delta = weight - meanWeight;
+			meanWeight += delta / added;
+			squaredDeviations += delta * (weight - meanWeight);
+		}
+		size++;
+	}
+
+	/**
+	 * Same as add(part), positions mean nothing in a counting bin.
+	 */
+	@Override
+	public void add(int index, CarPart part) {
+		if (index < 0 || index > size) {
+			throw new IndexOutOfBoundsException();
+		}
+		add(part);
+	}
+
+	/**
+	 * Returns a representative part, every position holds the same.
+	 */
+	@Override
+	public CarPart get(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException();
+		}
+		return representative();
+	}
+
+	/**
+	 * Returns a representative part. The count and the statistics stay the same, since part takes the
+	 * place of a part that was already counted.
+	 */
+	@Override
+	public CarPart set(int index, CarPart part) {
+		return get(index);
+	}
+
+	/**
+	 * Takes one part out of the count.
+	 */
+	@Override
+	public boolean remove(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException();
+		}
+		size--;
+		return true;
+	}
+
+	/**
+	 * Takes to - from parts out of the count.
+	 */
+	@Override
+	public void removeRange(int from, int to) {
+		if (from < 0 || to > size || from > to) {
+			throw new IndexOutOfBoundsException();
+		}
+		size -= to - from;
+	}
+
+	/**
+	 * Takes one part out of the count if part has this bin's id.
+	 */
+	@Override
+	public boolean remove(CarPart part) {
+		if (!contains(part)) {
+			return false;
+		}
+		size--;
+		return true;
+	}
+
+	/**
+	 * Checks whether there is at least one part and part has this bin's id.
+	 */
+	@Override
+	public boolean contains(CarPart part) {
+		return size > 0 && part != null && part.getId() == partId;
+	}
+
+	/**
+	 * Sets the count to 0. The statistics are kept.
+	 */
+	@Override
+	public void clear() {
+		size = 0;
+	}
+
+	@Override
+	public int removeAll(CarPart part) {
+		if (!contains(part)) {
+			return 0;
+		}
+		int removed = size;
+		size = 0;
+		return removed;
+	}
+
+	@Override
+	public int firstIndex(CarPart part) {
+		return contains(part) ? 0 : -1;
+	}
+
+	@Override
+	public int lastIndex(CarPart part) {
+		return contains(part) ? size - 1 : -1;
+	}
+
+	@Override
+	public CarPart first() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+		return representative();
+	}
+
+	@Override
+	public CarPart last() {
+		return first();
+	}
+
+	/**
+	 * Returns an iterator that gives size() representative parts.
+	 */
+	@Override
+	public Iterator<CarPart> iterator() {
+		return new Iterator<CarPart>() {
+			private int position = 0;
+
+			@Override
+			public boolean hasNext() {
+				return position < size;
+			}
+
+			@Override
+			public CarPart next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				position++;
+				return representative();
+			}
+		};
+	}
+
+	/**
+	 * Creates a part with this bin's id and name and the mean weight, standing for any of the counted parts.
+	 */
+	private CarPart representative() {
+		return new CarPart(partId, name, meanWeight, false);
+	}
+
+	/**
+	 * Returns the bin in the format: {count} parts (weight min {min} max {max} mean {mean} variance {variance})
+	 */
+	@Override
+	public String toString() {
+		return String.format("%d parts (weight min %.2f max %.2f mean %.2f variance %.2f)",
+				size, minWeight, maxWeight, meanWeight, getWeightVariance());
+	}
+
+}
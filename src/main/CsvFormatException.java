@@ -0,0 +1,63 @@
+package main;
+
+/**
+ * Thrown when an input file doesn't follow the expected format. It tells the line and column
+ * (both starting at 1) where the problem was found.
+ *
+ * It extends NumberFormatException so code that already handled bad numbers keeps working.
+ *
+ * @author Eliel Cruz Felix
+ */
+public class CsvFormatException extends NumberFormatException {
+
+	private static final long serialVersionUID = 1L;
+
+	private final String reason;
+	private final int line;
+	private final int column;
+
+	/**
+	 * Constructs a new CsvFormatException.
+	 *
+	 * @param message What was wrong.
+	 * @param line    The line where the problem was found.
+	 * @param column  The column where the problem was found.
+	 */
+	public CsvFormatException(String message, int line, int column) {
+		super("Line " + line + ", column " + column + ": " + message);
+		this.reason = message;
+		this.line = line;
+		this.column = column;
+	}
+
+	/**
+	 * Retrieves the line where the problem was found.
+	 *
+	 * @return The line, starting at 1.
+	 */
+	public int getLine() {
+		return line;
+	}
+
+	/**
+	 * Retrieves the column where the problem was found.
+	 *
+	 * @return The column, starting at 1.
+	 */
+	public int getColumn() {
+		return column;
+	}
+
+	/**
+	 * Creates the same exception moved down by the given number of lines. Used when a section of a
+	 * file was read on its own, starting at line 1, to point at the line in the whole file.
+	 *
+	 * @param lines How many lines came before the section.
+	 * @return The moved exception.
+	 */
+	CsvFormatException shiftLines(int lines) {
+		CsvFormatException shifted = new CsvFormatException(reason, line + lines, column);
+		shifted.setStackTrace(getStackTrace());
+		return shifted;
+	}
+}
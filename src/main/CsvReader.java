@@ -0,0 +1,322 @@
+package main;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads the factory's CSV files byte by byte.
+ *
+ * Numbers are built directly from the digits in the buffer, so reading an int or a double doesn't
+ * create any String. Only text fields (names) become Strings. The reader keeps track of the current line
+ * and column so errors can say exactly where the input is wrong. Lines can end with \n, \r\n or a lone \r.
+ *
+ * It can read from a channel (refilling its buffer as it goes) or from bytes that are already in memory,
+ * like a memory mapped section of a file.
+ *
+ * @author Eliel Cruz Felix
+ */
+class CsvReader {
+
+	private static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+	// Longest mantissa (in decimal digits) that always fits exactly in a double
+	private static final int MAX_EXACT_DIGITS = 15;
+	// Powers of ten that are exact doubles
+	private static final double[] POWERS_OF_TEN = {
+			1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+			1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+	private ReadableByteChannel channel;
+	private ByteBuffer buffer;
+	private int line;
+	// Bytes consumed since the start of the current line
+	private int column;
+	// Last byte consumed, so the \n of a \r\n isn't counted as another line
+	private int previous;
+	// Reused to build text fields and to fall back to Double.parseDouble
+	private byte[] scratch = new byte[64];
+
+	/**
+	 * Creates a reader that reads the channel from its current position.
+	 *
+	 * @param channel Where the bytes come from.
+	 */
+	CsvReader(ReadableByteChannel channel) {
+		this.channel = channel;
+		this.buffer = ByteBuffer.allocate(DEFAULT_BUFFER_SIZE);
+		this.buffer.flip();
+		this.line = 1;
+		this.column = 0;
+	}
+
+	/**
+	 * Creates a reader over bytes that are already in memory, from their position to their limit.
+	 *
+	 * @param data      The bytes to read.
+	 * @param firstLine The line number of the first byte, used in error messages.
+	 */
+	CsvReader(ByteBuffer data, int firstLine) {
+		this.channel = null;
+		this.buffer = data;
+		this.line = firstLine;
+		this.column = 0;
+	}
+
+	int getLine() {
+		return line;
+	}
+
+	int getColumn() {
+		return column + 1;
+	}
+
+	/**
+	 * Checks whether there is anything left to read.
+	 */
+	boolean hasMore() {
+		return peek() != -1;
+	}
+
+	/**
+	 * Checks whether the reader is at the end of a line (or of the input).
+	 */
+	boolean atLineEnd() {
+		int c = peek();
+		return c == '\n' || c == '\r' || c == -1;
+	}
+
+	/**
+	 * Consumes the end of the current line. Fails if there is something else before it.
+	 */
+	void endLine() {
+		if (!atLineEnd()) {
+			throw error("expected end of line");
+		}
+		if (peek() == '\r') {
+			next();
+		}
+		if (peek() == '\n') {
+			next();
+		}
+	}
+
+	/**
+	 * Consumes the end of the current line. Columns after the last one the file format has (starting
+	 * with a comma) are skipped.
+	 */
+	void endRecord() {
+		if (skipIf(',')) {
+			skipLine();
+			return;
+		}
+		endLine();
+	}
+
+	/**
+	 * Skips everything up to and including the end of the current line.
+	 */
+	void skipLine() {
+		while (!atLineEnd()) {
+			next();
+		}
+		endLine();
+	}
+
+	/**
+	 * Consumes c, failing if the next byte is something else.
+	 */
+	void expect(char c) {
+		if (peek() != c) {
+			throw error("expected '" + c + "'");
+		}
+		next();
+	}
+
+	/**
+	 * Consumes c if it is the next byte.
+	 *
+	 * @return True if c was consumed.
+	 */
+	boolean skipIf(char c) {
+		if (peek() != c) {
+			return false;
+		}
+		next();
+		return true;
+	}
+
+	/**
+	 * Reads an integer written in decimal, with an optional sign.
+	 */
+	int readInt() {
+		boolean negative = peek() == '-';
+		if (negative || peek() == '+') {
+			next();
+		}
+		if (!isDigit(peek())) {
+			throw error("expected a number");
+		}
+		long value = 0;
+		while (isDigit(peek())) {
+			value = value * 10 + (next() - '0');
+			if (value > (long) Integer.MAX_VALUE + 1) {
+				throw error("number is too big");
+			}
+		}
+		value = negative ? -value : value;
+		if (value > Integer.MAX_VALUE) {
+			throw error("number is too big");
+		}
+		return (int) value;
+	}
+
+	/**
+	 * Reads a decimal number like 250, 0.5 or -1.25e3.
+	 * Short numbers without exponent are computed directly from their digits, the rest go through
+	 * Double.parseDouble so the result is always the same one Java would give.
+	 */
+	double readDouble() {
+		int startColumn = getColumn();
+		int length = 0;
+		long mantissa = 0;
+		int digits = 0;
+		int decimals = 0;
+		boolean exact = true;
+		boolean seenDigit = false;
+
+		if (peek() == '-' || peek() == '+') {
+			length = keep(length, next());
+		}
+		while (isDigit(peek())) {
+			int digit = next();
+			length = keep(length, digit);
+			seenDigit = true;
+			if (mantissa != 0 || digit != '0') {
+				digits++;
+			}
+			mantissa = mantissa * 10 + (digit - '0');
+			exact &= digits <= MAX_EXACT_DIGITS;
+		}
+		if (peek() == '.') {
+			length = keep(length, next());
+			while (isDigit(peek())) {
+				int digit = next();
+				length = keep(length, digit);
+				seenDigit = true;
+				if (mantissa != 0 || digit != '0') {
+					digits++;
+				}
+				mantissa = mantissa * 10 + (digit - '0');
+				decimals++;
+				exact &= digits <= MAX_EXACT_DIGITS && decimals < POWERS_OF_TEN.length;
+			}
+		}
+		if (!seenDigit) {
+			throw new CsvFormatException("expected a number", line, startColumn);
+		}
+		if (peek() == 'e' || peek() == 'E') {
+			exact = false;
+			length = keep(length, next());
+			if (peek() == '-' || peek() == '+') {
+				length = keep(length, next());
+			}
+			if (!isDigit(peek())) {
+				throw error("expected the exponent of the number");
+			}
+			while (isDigit(peek())) {
+				length = keep(length, next());
+			}
+		}
+
+		if (exact) {
+			double value = mantissa / POWERS_OF_TEN[decimals];
+			return scratch[0] == '-' ? -value : value;
+		}
+		return Double.parseDouble(new String(scratch, 0, length, StandardCharsets.US_ASCII));
+	}
+
+	/**
+	 * Reads text up to the next comma or the end of the line (neither is consumed).
+	 */
+	String readField() {
+		int length = 0;
+		while (peek() != ',' && !atLineEnd()) {
+			length = keep(length, next());
+		}
+		return new String(scratch, 0, length, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Creates an exception pointing at the current position.
+	 */
+	CsvFormatException error(String message) {
+		int c = peek();
+		String found = c == -1 ? "end of file" : (c == '\n' || c == '\r') ? "end of line" : "'" + (char) c + "'";
+		return new CsvFormatException(message + " but found " + found, line, getColumn());
+	}
+
+	/**
+	 * Returns the next byte without consuming it, or -1 at the end of the input.
+	 */
+	private int peek() {
+		if (!buffer.hasRemaining() && !fill()) {
+			return -1;
+		}
+		return buffer.get(buffer.position()) & 0xff;
+	}
+
+	/**
+	 * Consumes and returns the next byte. Must only be called after peek() saw a byte.
+	 */
+	private int next() {
+		int c = buffer.get() & 0xff;
+		if (c == '\r' || (c == '\n' && previous != '\r')) {
+			line++;
+			column = 0;
+		} else if (c != '\n') {
+			column++;
+		}
+		previous = c;
+		return c;
+	}
+
+	/**
+	 * Stores c at position length of the scratch array, growing it if needed.
+	 */
+	private int keep(int length, int c) {
+		if (length == scratch.length) {
+			byte[] bigger = new byte[2 * length];
+			System.arraycopy(scratch, 0, bigger, 0, length);
+			scratch = bigger;
+		}
+		scratch[length] = (byte) c;
+		return length + 1;
+	}
+
+	/**
+	 * Reads more bytes from the channel. Returns false at the end of the input.
+	 */
+	private boolean fill() {
+		if (channel == null) {
+			return false;
+		}
+		try {
+			buffer.clear();
+			int read;
+			do {
+				read = channel.read(buffer);
+			} while (read == 0);
+			buffer.flip();
+			return read > 0;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static boolean isDigit(int c) {
+		return c >= '0' && c <= '9';
+	}
+
+}
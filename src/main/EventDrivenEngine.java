@@ -0,0 +1,249 @@
+package main;
+
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+import interfaces.List;
+import interfaces.Queue;
+import interfaces.Stack;
+
+/**
+ * Simulates one factory day by jumping from event to event instead of ticking every machine every minute.
+ *
+ * For each machine we read its timer and conveyor belt once at the start of the day. From that we can
+ * tell in which minutes the timer is at 0 (a part is made) and therefore in which minutes a part falls off
+ * the end of the belt (10 minutes later). The machines are kept in a priority queue ordered by the minute
+ * of their next part, and ties go to the machine that comes first in the list. That is exactly the order
+ * in which the minute-by-minute loop pushes parts to the production bin, so both produce the same result.
+ *
+ * The cost of a day is O(parts produced * log(machines) + machines * (period + belt length)) instead of
+ * O(minutes * machines).
+ *
+ * @author Eliel Cruz Felix
+ */
+class EventDrivenEngine {
+
+	/**
+	 * Runs the machines for a day and pushes every part they deliver into the production bin,
+	 * including what is left on the belts at the end of the day.
+	 *
+	 * @param machines      The machines of the factory.
+	 * @param minutes       How many minutes the day lasts.
+	 * @param productionBin Where the delivered parts go.
+	 */
+	static void runDay(List<PartMachine> machines, int minutes, Stack<CarPart> productionBin) {
+		MachineSchedule[] schedules = new MachineSchedule[machines.size()];
+		ScheduleHeap heap = new ScheduleHeap(machines.size());
+		int index = 0;
+		for (PartMachine machine : machines) {
+			MachineSchedule schedule = new MachineSchedule(machine, index, minutes);
+			schedules[index++] = schedule;
+			if (schedule.nextArrival != -1) {
+				heap.add(schedule);
+			}
+		}
+
+		while (!heap.isEmpty()) {
+			MachineSchedule next = heap.first();
+			productionBin.push(next.take());
+			if (next.nextArrival == -1) {
+				heap.removeFirst();
+			} else {
+				heap.firstChanged();
+			}
+		}
+
+		for (MachineSchedule schedule : schedules) {
+			schedule.drain(productionBin::push);
+		}
+	}
+
+	/**
+	 * What one machine does during the day, computed from its timer and belt at the start of the day.
+	 */
+	static class MachineSchedule {
+		private PartMachine machine;
+		// Position of the machine in the factory's list, used to break ties
+		private int index;
+		private int minutes;
+		// Belt content at the start of the day, front first
+		private CarPart[] belt;
+		// Positions of the timer (counting from its front at the start of the day) that hold 0
+		private int[] zeroOffsets;
+		private int zeroCount;
+		private int timerSize;
+		// Minute in which the next part falls off the belt, -1 if no more parts arrive today
+		int nextArrival;
+
+		MachineSchedule(PartMachine machine, int index, int minutes) {
+			this.machine = machine;
+			this.index = index;
+			this.minutes = minutes;
+
+			// The belt is emptied at the end of every day, produceCarPart() resets it in the first minute
+			Queue<CarPart> conveyorBelt = machine.getConveyorBelt();
+			if (conveyorBelt.isEmpty()) {
+				machine.resetConveyorBelt();
+			}
+			this.belt = new CarPart[conveyorBelt.size()];
+			for (int i = 0; i < belt.length; i++) {
+				belt[i] = conveyorBelt.dequeue();
+			}
+
+			// Look at the whole timer once and leave it as it will be after the day
+			Queue<Integer> timer = machine.getTimer();
+			this.timerSize = timer.size();
+			if (timerSize == 0) {
+				throw new NoSuchElementException("Machine " + machine.getId() + " has an empty timer");
+			}
+			this.zeroOffsets = new int[timerSize];
+			for (int i = 0; i < timerSize; i++) {
+				if (timer.front() == 0) {
+					zeroOffsets[zeroCount++] = i;
+				}
+				timer.enqueue(timer.dequeue());
+			}
+			for (int i = 0; i < minutes % timerSize; i++) {
+				timer.enqueue(timer.dequeue());
+			}
+
+			this.nextArrival = findArrival(0);
+		}
+
+		/**
+		 * Returns the part that falls off the belt in minute nextArrival and moves on to the next one.
+		 */
+		CarPart take() {
+			CarPart part = nextArrival < belt.length ? belt[nextArrival] : machine.createCarPart();
+			nextArrival = findArrival(nextArrival + 1);
+			return part;
+		}
+
+		/**
+		 * Hands what is left on the belt at the end of the day to sink, front first.
+		 */
+		void drain(Consumer<CarPart> sink) {
+			for (int t = minutes; t < belt.length; t++) {
+				if (belt[t] != null) {
+					sink.accept(belt[t]);
+				}
+			}
+			int production = nextProduction(Math.max(0, minutes - belt.length));
+			while (production != -1 && production < minutes) {
+				sink.accept(machine.createCarPart());
+				production = nextProduction(production + 1);
+			}
+		}
+
+		/**
+		 * First minute, starting at from, in which a part falls off the belt. -1 if there is none today.
+		 */
+		private int findArrival(int from) {
+			for (int t = from; t < Math.min(belt.length, minutes); t++) {
+				if (belt[t] != null) {
+					return t;
+				}
+			}
+			// After the initial content, what falls off was made belt.length minutes before
+			int production = nextProduction(Math.max(from, belt.length) - belt.length);
+			if (production == -1 || production + belt.length >= minutes) {
+				return -1;
+			}
+			return production + belt.length;
+		}
+
+		/**
+		 * First minute, starting at from, in which the timer is at 0. -1 if the timer never gets to 0.
+		 */
+		private int nextProduction(int from) {
+			if (zeroCount == 0) {
+				return -1;
+			}
+			int offset = from % timerSize;
+			int start = from - offset;
+			for (int i = 0; i < zeroCount; i++) {
+				if (zeroOffsets[i] >= offset) {
+					return start + zeroOffsets[i];
+				}
+			}
+			return start + timerSize + zeroOffsets[0];
+		}
+
+		/**
+		 * Whether this schedule delivers before other (earlier minute, or same minute and earlier machine).
+		 */
+		boolean before(MachineSchedule other) {
+			return nextArrival < other.nextArrival || (nextArrival == other.nextArrival && index < other.index);
+		}
+	}
+
+	/**
+	 * Binary min-heap of schedules ordered by MachineSchedule.before().
+	 */
+	private static class ScheduleHeap {
+		private MachineSchedule[] elements;
+		private int size;
+
+		ScheduleHeap(int capacity) {
+			this.elements = new MachineSchedule[Math.max(1, capacity)];
+			this.size = 0;
+		}
+
+		boolean isEmpty() {
+			return size == 0;
+		}
+
+		MachineSchedule first() {
+			return elements[0];
+		}
+
+		void add(MachineSchedule schedule) {
+			int child = size++;
+			elements[child] = schedule;
+			while (child > 0) {
+				int parent = (child - 1) / 2;
+				if (!elements[child].before(elements[parent])) {
+					break;
+				}
+				swap(child, parent);
+				child = parent;
+			}
+		}
+
+		void removeFirst() {
+			elements[0] = elements[--size];
+			elements[size] = null;
+			firstChanged();
+		}
+
+		/**
+		 * Restores the order after the key of the first schedule went up.
+		 */
+		void firstChanged() {
+			int parent = 0;
+			while (true) {
+				int smallest = parent;
+				int left = 2 * parent + 1;
+				int right = left + 1;
+				if (left < size && elements[left].before(elements[smallest])) {
+					smallest = left;
+				}
+				if (right < size && elements[right].before(elements[smallest])) {
+					smallest = right;
+				}
+				if (smallest == parent) {
+					return;
+				}
+				swap(parent, smallest);
+				parent = smallest;
+			}
+		}
+
+		private void swap(int i, int j) {
+			MachineSchedule temp = elements[i];
+			elements[i] = elements[j];
+			elements[j] = temp;
+		}
+	}
+
+}
@@ -0,0 +1,170 @@
+package main;
+
+import java.util.NoSuchElementException;
+
+import data_structures.ArrayQueue;
+import interfaces.Queue;
+
+/**
+ * Timer queue of a PartMachine stored as two ints instead of period boxed values.
+ *
+ * A machine's timer always holds a countdown that wraps around: the front is some value start and
+ * the values after it are start - 1, start - 2, ... modulo period. As long as that is true the queue
+ * only needs start and size: the value at position i is (start - i) mod period. Rotating the queue
+ * (enqueue(dequeue()), which is what the machine and its users do) keeps that shape, so tick() is
+ * a couple of int operations.
+ *
+ * Any other change (enqueueing a value that doesn't follow the countdown) turns the timer into a
+ * regular ArrayQueue of the same values, which is used from then on.
+ *
+ * @author Eliel Cruz Felix
+ */
+class MachineTimer implements Queue<Integer> {
+
+	private int period;
+	// Value at the front while the countdown shape holds
+	private int start;
+	private int size;
+	// Not null once the values stopped following the countdown
+	private ArrayQueue<Integer> values;
+
+	/**
+	 * Creates the timer of a new machine: period - 1, period - 2, ..., 0.
+	 * A period smaller than 1 gives an empty timer.
+	 *
+	 * @param period The production period of the machine.
+	 */
+	MachineTimer(int period) {
+		this.period = period;
+		this.start = period - 1;
+		this.size = Math.max(0, period);
+	}
+
+	/**
+	 * Creates a timer with the same values as this one.
+	 *
+	 * @return The copy.
+	 */
+	MachineTimer copy() {
+		MachineTimer copy = new MachineTimer(period);
+		copy.start = start;
+		copy.size = size;
+		if (values != null) {
+			copy.values = new ArrayQueue<>(Math.max(1, values.size()));
+			for (int i = 0; i < values.size(); i++) {
+				Integer value = values.dequeue();
+				copy.values.enqueue(value);
+				values.enqueue(value);
+			}
+		}
+		return copy;
+	}
+
+	/**
+	 * Returns the front value and moves it to the back, like enqueue(dequeue()) but without boxing.
+	 *
+	 * @return The value that was at the front.
+	 * @throws NoSuchElementException If the timer is empty.
+	 */
+	int tick() {
+		if (values == null && size == period && size > 0) {
+			int front = start;
+			start = start == 0 ? period - 1 : start - 1;
+			return front;
+		}
+		int front = front();
+		enqueue(dequeue());
+		return front;
+	}
+
+	@Override
+	public int size() {
+		return values == null ? size : values.size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	@Override
+	public void clear() {
+		if (values != null) {
+			values.clear();
+			return;
+		}
+		size = 0;
+	}
+
+	@Override
+	public void enqueue(Integer obj) {
+		if (values == null) {
+			if (size == 0 && obj != null && obj >= 0 && obj < period) {
+				start = obj;
+				size = 1;
+				return;
+			}
+			if (size > 0 && size < period && obj != null && obj == valueAt(size)) {
+				size++;
+				return;
+			}
+			materialize();
+		}
+		values.enqueue(obj);
+	}
+
+	@Override
+	public Integer dequeue() {
+		if (values != null) {
+			return values.dequeue();
+		}
+		if (size == 0) {
+			throw new NoSuchElementException();
+		}
+		int front = start;
+		start = start == 0 ? period - 1 : start - 1;
+		size--;
+		return front;
+	}
+
+	@Override
+	public Integer front() {
+		if (values != null) {
+			return values.front();
+		}
+		if (size == 0) {
+			throw new NoSuchElementException();
+		}
+		return start;
+	}
+
+	/**
+	 * Value at position i (from the front) while the countdown shape holds.
+	 */
+	private int valueAt(int i) {
+		return Math.floorMod(start - i, period);
+	}
+
+	/**
+	 * Copies the values into an ArrayQueue, which holds them from now on.
+	 */
+	private void materialize() {
+		values = new ArrayQueue<>(Math.max(1, period));
+		for (int i = 0; i < size; i++) {
+			values.enqueue(valueAt(i));
+		}
+	}
+
+	@Override
+	public String toString() {
+		if (values != null) {
+			return values.toString();
+		}
+		String str = "{ ";
+		for (int i = 0; i < size; i++) {
+			str += valueAt(i) + " ";
+		}
+		return str + "}";
+	}
+
+}
@@ -0,0 +1,154 @@
+package main;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import data_structures.ArrayList;
+import interfaces.List;
+
+/**
+ * Loads a large orders file by memory mapping it and parsing sections of it in parallel.
+ *
+ * The file is cut into chunks that always end right after a newline, so no order is split between two
+ * chunks. Each chunk is mapped on its own (a single mapping can't be bigger than 2GB) and parsed by its own
+ * CsvReader into its own list. The lists are then added to the factory's orders in file order, which gives
+ * exactly the orders the sequential loader reads, including stopping at the first empty line.
+ *
+ * A chunk doesn't know on which line of the file it starts until the chunks before it are parsed, so
+ * its readers count lines from 1 and errors are moved to their real line afterwards.
+ *
+ * @author Eliel Cruz Felix
+ */
+class MappedOrderLoader {
+
+	// Chunks smaller than this aren't worth a task of their own
+	private static final long MIN_CHUNK_SIZE = 1 << 20;
+	// Largest chunk mapped at once, well under the 2GB limit of a mapping
+	private static final long MAX_CHUNK_SIZE = 1 << 28;
+	// Chunks per pool thread, so a thread that finishes early can take more work
+	private static final int CHUNKS_PER_THREAD = 4;
+	// Bytes read at a time while looking for the newline that ends a chunk
+	private static final int SCAN_BUFFER_SIZE = 1 << 13;
+
+	/**
+	 * Reads every order of the file (skipping the header) and adds them to orders in file order.
+	 *
+	 * @param path   The path to the file containing order information.
+	 * @param pool   The pool that parses the chunks.
+	 * @param orders Where the orders are added.
+	 * @throws IOException        If there is an issue reading the file.
+	 * @throws CsvFormatException If an order is malformed, pointing at its line in the file.
+	 */
+	static void load(Path path, ForkJoinPool pool, List<Order> orders) throws IOException {
+		try (FileChannel channel = FileChannel.open(path)) {
+			long[] bounds = chunkBounds(channel, pool.getParallelism());
+			int chunks = bounds.length - 1;
+			Chunk[] results = pool.submit(() -> IntStream.range(0, chunks).parallel()
+					.mapToObj(chunk -> parse(channel, bounds[chunk], bounds[chunk + 1], chunk == 0))
+					.toArray(Chunk[]::new)).join();
+
+			int linesBefore = 0;
+			for (Chunk chunk : results) {
+				for (Order order : chunk.orders) {
+					orders.add(order);
+				}
+				if (chunk.error != null) {
+					throw chunk.error.shiftLines(linesBefore);
+				}
+				if (chunk.endOfOrders) {
+					return;
+				}
+				linesBefore += chunk.lines;
+			}
+		}
+	}
+
+	/**
+	 * Splits the file in chunks that end after a newline (or at the end of the file).
+	 * Chunk i goes from bounds[i] (inclusive) to bounds[i + 1] (exclusive).
+	 */
+	private static long[] chunkBounds(FileChannel channel, int parallelism) throws IOException {
+		long size = channel.size();
+		long wanted = Math.min((long) parallelism * CHUNKS_PER_THREAD, (size + MIN_CHUNK_SIZE - 1) / MIN_CHUNK_SIZE);
+		int chunks = (int) Math.max(Math.max(1, wanted), (size + MAX_CHUNK_SIZE - 1) / MAX_CHUNK_SIZE);
+
+		long[] bounds = new long[chunks + 1];
+		for (int i = 1; i < chunks; i++) {
+			bounds[i] = lineStart(channel, Math.max(size / chunks * i, bounds[i - 1]));
+		}
+		bounds[chunks] = size;
+		return bounds;
+	}
+
+	/**
+	 * First position at or after from that starts a line (or the size of the file if there is none).
+	 */
+	private static long lineStart(FileChannel channel, long from) throws IOException {
+		if (from == 0) {
+			return 0;
+		}
+		ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+		// A line starts at from only if the byte before it is a newline
+		long position = from - 1;
+		while (true) {
+			buffer.clear();
+			int read = channel.read(buffer, position);
+			if (read == -1) {
+				return channel.size();
+			}
+			for (int i = 0; i < read; i++) {
+				if (buffer.get(i) == '\n') {
+					return position + i + 1;
+				}
+			}
+			position += read;
+		}
+	}
+
+	/**
+	 * Maps the bytes from start to end and reads the orders in them.
+	 */
+	private static Chunk parse(FileChannel channel, long start, long end, boolean first) {
+		Chunk chunk = new Chunk();
+		if (start == end) {
+			return chunk;
+		}
+		try {
+			CsvReader reader = new CsvReader(channel.map(FileChannel.MapMode.READ_ONLY, start, end - start), 1);
+			if (first) {
+				reader.skipLine(); // Skip header
+			}
+			// Orders end at the first empty line
+			while (reader.hasMore()) {
+				if (reader.atLineEnd()) {
+					chunk.endOfOrders = true;
+					break;
+				}
+				chunk.orders.add(CarPartFactory.readOrder(reader));
+			}
+			chunk.lines = reader.getLine() - 1;
+		} catch (CsvFormatException e) {
+			chunk.error = e;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return chunk;
+	}
+
+	/**
+	 * What was read from one chunk.
+	 */
+	private static class Chunk {
+		private List<Order> orders = new ArrayList<>();
+		// Newlines in the chunk, to know where the next one starts
+		private int lines;
+		private boolean endOfOrders;
+		private CsvFormatException error;
+	}
+
+}
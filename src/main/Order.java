@@ -13,6 +13,9 @@ public class Order {
 	private String customerName;
 	private Map<Integer, Integer> requestedParts;
 	private boolean fulfilled;
+	private int fulfilledDay = -1;
+	// Index of the last factory that indexed this order, told when the order is reset or given other parts
+	private OrderIndex index;
 	    
 	/**
      * Constructs a new Order object with the given parameters.
@@ -63,6 +66,26 @@ public class Order {
      */
     public void setFulfilled(boolean fulfilled) {
         this.fulfilled = fulfilled;
+        changed();
+    }
+    
+    /**
+     * Retrieves the day in which the order was fulfilled, counting the factory's days from 1.
+     * An order fulfilled before the factory ran any day has day 0.
+     *
+     * @return The day, or -1 if the order hasn't been fulfilled by the factory.
+     */
+    public int getFulfilledDay() {
+        return fulfilledDay;
+    }
+    
+    /**
+     * Sets the day in which the order was fulfilled.
+     *
+     * @param fulfilledDay The day, or -1 if the order hasn't been fulfilled.
+     */
+    public void setFulfilledDay(int fulfilledDay) {
+        this.fulfilledDay = fulfilledDay;
     }
     
     /**
@@ -81,6 +104,22 @@ public class Order {
      */
     public void setRequestedParts(Map<Integer, Integer> requestedParts) {
     	this.requestedParts = requestedParts;
+    	changed();
+    }
+    
+    /**
+     * Makes the order tell an index about its changes from now on.
+     *
+     * @param index The index that indexed the order.
+     */
+    void watch(OrderIndex index) {
+        this.index = index;
+    }
+    
+    private void changed() {
+        if (index != null) {
+            index.orderChanged();
+        }
     }
     
     /**
@@ -0,0 +1,315 @@
+package main;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+
+import data_structures.IntIntHashMap;
+import interfaces.List;
+import interfaces.Map;
+
+/**
+ * Keeps track of which pending orders the inventory can cover, so processing orders only looks at
+ * the ones whose parts changed instead of checking every order.
+ *
+ * Every pending order has a shortfall: how many of its requested parts don't have enough stock. For every
+ * part we keep the orders waiting for it sorted by the quantity they want. When the stock of a part goes
+ * from a to b, only the orders that want between a and b of it change their shortfall, and an order whose
+ * shortfall gets to 0 is ready. Ready orders are visited from first to last, which is the order the
+ * factory always fulfilled them in (first come, first served).
+ *
+ * Building the index costs more than checking every order once, so the first time a list of orders is
+ * processed the orders are simply handed out one by one, and the index is only built if the same list is
+ * processed again. If the list changed after the index was built (an order was replaced, added, reset or
+ * given other parts) the list is handled as a new one. Indexed orders report their setFulfilled and
+ * setRequestedParts calls, and the list's modificationCount() tells whether it was modified, so the check
+ * is O(1); only a list that doesn't count its modifications is walked to compare the orders. Changes made
+ * inside an order's requested parts map are not seen.
+ *
+ * @author Eliel Cruz Felix
+ */
+class OrderIndex {
+
+	// The list being processed
+	private List<Order> orders;
+	private boolean built;
+	// Goes over the orders while the index isn't built
+	private Iterator<Order> scan;
+
+	private Order[] indexed = new Order[0];
+	// modificationCount() of the list when the index was built
+	private int listModifications;
+	// Changes reported by the indexed orders, and how many of them were the factory fulfilling an order
+	private int changes;
+	private int expectedChanges;
+	// Requested parts of order i are entries orderStart[i] to orderStart[i + 1] - 1
+	private int[] orderStart = new int[1];
+	private int[] requestedSlot = new int[0];
+	private int[] requestedQuantity = new int[0];
+	private int[] shortfall = new int[0];
+	private boolean[] done = new boolean[0];
+	private BitSet ready = new BitSet();
+	private int cursor;
+
+	// Every requested part gets a slot
+	private IntIntHashMap slotOfPart = new IntIntHashMap();
+	private int[] partIds = new int[0];
+	// Stock of each part the last time it was looked at
+	private int[] stock = new int[0];
+	// Orders waiting for each part as (quantity << 32 | order), sorted by quantity
+	private long[][] waiting = new long[0][];
+	private int[] waitingCount = new int[0];
+	// Waiting entries whose order is already fulfilled
+	private int[] finished = new int[0];
+
+	// Requested part ids of every order, only while the index is being built
+	private int[] requestedPart;
+	private int entries;
+
+	/**
+	 * Brings the index up to date with the orders and inventory and goes back to the first ready order.
+	 *
+	 * @param orders    The factory's orders.
+	 * @param inventory The factory's inventory.
+	 */
+	void sync(List<Order> orders, Map<Integer, List<CarPart>> inventory) {
+		if (orders != this.orders || (built && !unchanged(orders))) {
+			this.orders = orders;
+			this.built = false;
+			this.scan = orders.iterator();
+			return;
+		}
+		scan = null;
+		if (!built) {
+			build(orders, inventory);
+			built = true;
+		}
+		for (int slot = 0; slot < partIds.length; slot++) {
+			updateStock(slot, inventory);
+		}
+		cursor = 0;
+	}
+
+	/**
+	 * Returns the next order (after the last one returned) that the inventory can cover, or null if there are no more.
+	 * While the index isn't built, every pending order is returned.
+	 */
+	Order nextReady() {
+		if (scan != null) {
+			while (scan.hasNext()) {
+				Order order = scan.next();
+				if (!order.isFulfilled()) {
+					return order;
+				}
+			}
+			return null;
+		}
+		int next = ready.nextSetBit(cursor);
+		if (next == -1) {
+			cursor = indexed.length;
+			return null;
+		}
+		cursor = next + 1;
+		return indexed[next];
+	}
+
+	/**
+	 * Takes the last order returned by nextReady() out of the index after it was fulfilled,
+	 * and looks again at the stock of its parts.
+	 *
+	 * @param inventory The factory's inventory, after the order's parts were taken out.
+	 */
+	void fulfilled(Map<Integer, List<CarPart>> inventory) {
+		if (scan != null) {
+			return;
+		}
+		int order = cursor - 1;
+		// The order's setFulfilled(true) was already reported
+		expectedChanges++;
+		done[order] = true;
+		ready.clear(order);
+		for (int i = orderStart[order]; i < orderStart[order + 1]; i++) {
+			int slot = requestedSlot[i];
+			finished[slot]++;
+			updateStock(slot, inventory);
+			if (2 * finished[slot] > waitingCount[slot]) {
+				compact(slot);
+			}
+		}
+	}
+
+	/**
+	 * Called by an indexed order when it is reset or given other parts.
+	 */
+	void orderChanged() {
+		changes++;
+	}
+
+	/**
+	 * Checks that nothing changed since the index was built: no indexed order reported a change other than
+	 * being fulfilled by the factory, and the list holds the same orders in the same positions.
+	 */
+	private boolean unchanged(List<Order> orders) {
+		if (changes != expectedChanges || orders.size() != indexed.length) {
+			return false;
+		}
+		int modifications = orders.modificationCount();
+		if (modifications != -1) {
+			return modifications == listModifications;
+		}
+		int order = 0;
+		for (Order current : orders) {
+			if (current != indexed[order++]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void build(List<Order> orders, Map<Integer, List<CarPart>> inventory) {
+		indexed = new Order[orders.size()];
+		orderStart = new int[indexed.length + 1];
+		shortfall = new int[indexed.length];
+		done = new boolean[indexed.length];
+		ready = new BitSet(indexed.length);
+		slotOfPart = new IntIntHashMap();
+		int slots = 0;
+
+		// First pass: collect the requested parts of every order and give every part a slot
+		requestedPart = new int[Math.max(1, indexed.length)];
+		requestedQuantity = new int[requestedPart.length];
+		entries = 0;
+		int order = 0;
+		for (Order current : orders) {
+			indexed[order] = current;
+			current.watch(this);
+			orderStart[order] = entries;
+			done[order] = current.isFulfilled();
+			RequestedParts requested = CarPartFactory.requestedQuantities(current);
+			if (requested == null) {
+				requested = RequestedParts.copyOf(current.getRequestedParts());
+			}
+			for (int i = 0; i < requested.size(); i++) {
+				addRequested(requested.partIdAt(i), requested.quantityAt(i));
+			}
+			order++;
+		}
+		orderStart[indexed.length] = entries;
+		requestedSlot = new int[entries];
+		for (int i = 0; i < entries; i++) {
+			int slot = slotOfPart.getOrDefault(requestedPart[i], -1);
+			if (slot == -1) {
+				slot = slots++;
+				slotOfPart.put(requestedPart[i], slot);
+			}
+			requestedSlot[i] = slot;
+		}
+
+		// Second pass: fill the waiting lists of the pending orders and their shortfall
+		partIds = new int[slots];
+		slotOfPart.forEach((partId, slot) -> partIds[slot] = partId);
+		stock = new int[slots];
+		waitingCount = new int[slots];
+		finished = new int[slots];
+		for (int slot = 0; slot < slots; slot++) {
+			stock[slot] = stockOf(partIds[slot], inventory);
+		}
+		for (order = 0; order < indexed.length; order++) {
+			for (int i = orderStart[order]; i < orderStart[order + 1]; i++) {
+				if (!done[order] && requestedQuantity[i] > 0) {
+					waitingCount[requestedSlot[i]]++;
+				}
+			}
+		}
+		waiting = new long[slots][];
+		for (int slot = 0; slot < slots; slot++) {
+			waiting[slot] = new long[waitingCount[slot]];
+			waitingCount[slot] = 0;
+		}
+		for (order = 0; order < indexed.length; order++) {
+			for (int i = orderStart[order]; i < orderStart[order + 1]; i++) {
+				int slot = requestedSlot[i];
+				if (!done[order] && requestedQuantity[i] > 0) {
+					waiting[slot][waitingCount[slot]++] = (long) requestedQuantity[i] << 32 | order;
+					if (requestedQuantity[i] > stock[slot]) {
+						shortfall[order]++;
+					}
+				}
+			}
+			if (!done[order] && shortfall[order] == 0) {
+				ready.set(order);
+			}
+		}
+		for (int slot = 0; slot < slots; slot++) {
+			Arrays.sort(waiting[slot]);
+		}
+		requestedPart = null;
+		listModifications = orders.modificationCount();
+		changes = 0;
+		expectedChanges = 0;
+	}
+
+	/**
+	 * Adds a requested part of the order being read to the entries of the build.
+	 */
+	private void addRequested(int partId, int quantity) {
+		if (entries == requestedPart.length) {
+			requestedPart = Arrays.copyOf(requestedPart, 2 * entries);
+			requestedQuantity = Arrays.copyOf(requestedQuantity, 2 * entries);
+		}
+		requestedPart[entries] = partId;
+		requestedQuantity[entries++] = quantity;
+	}
+
+	/**
+	 * Reads the stock of a part again and updates the orders that want between the old and the new stock.
+	 */
+	private void updateStock(int slot, Map<Integer, List<CarPart>> inventory) {
+		int current = stockOf(partIds[slot], inventory);
+		int previous = stock[slot];
+		if (current == previous) {
+			return;
+		}
+		stock[slot] = current;
+		int low = Math.min(previous, current);
+		int high = Math.max(previous, current);
+		long[] entries = waiting[slot];
+		// First entry that wants more than low
+		int first = Arrays.binarySearch(entries, 0, waitingCount[slot], (long) low << 32 | Integer.MAX_VALUE);
+		first = first < 0 ? -first - 1 : first + 1;
+		for (int i = first; i < waitingCount[slot] && (int) (entries[i] >>> 32) <= high; i++) {
+			int order = (int) entries[i];
+			if (done[order]) {
+				continue;
+			}
+			if (current > previous) {
+				if (--shortfall[order] == 0) {
+					ready.set(order);
+				}
+			} else if (shortfall[order]++ == 0) {
+				ready.clear(order);
+			}
+		}
+	}
+
+	/**
+	 * Drops the entries of fulfilled orders from a waiting list.
+	 */
+	private void compact(int slot) {
+		long[] entries = waiting[slot];
+		int kept = 0;
+		for (int i = 0; i < waitingCount[slot]; i++) {
+			if (!done[(int) entries[i]]) {
+				entries[kept++] = entries[i];
+			}
+		}
+		waitingCount[slot] = kept;
+		finished[slot] = 0;
+	}
+
+	private static int stockOf(int partId, Map<Integer, List<CarPart>> inventory) {
+		List<CarPart> parts = inventory.get(partId);
+		return parts == null ? 0 : parts.size();
+	}
+
+}
@@ -0,0 +1,161 @@
+package main;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import interfaces.List;
+import interfaces.Stack;
+
+/**
+ * Simulates one factory day running the machines in parallel on a ForkJoin pool.
+ *
+ * Machines don't interact during a day, so each one can run the whole day on its own, writing what falls
+ * off its belt (and the minute it happened) into its own output. Once every machine is done, the outputs are
+ * merged on the calling thread in the order the sequential loop would have pushed them: by minute, and
+ * by position in the machine list within the same minute. Then come the parts left on the belts, machine
+ * by machine. That keeps the production bin (and therefore inventory and reports) identical to a
+ * sequential run.
+ *
+ * A machine must appear only once in the list, since it is handed to a single thread.
+ *
+ * @author Eliel Cruz Felix
+ */
+class ParallelEngine {
+
+	// Machines simulated by a single task before it stops splitting the work
+	private static final int BATCH_SIZE = 64;
+
+	/**
+	 * Runs the machines for a day on pool and pushes everything they deliver into the production bin.
+	 *
+	 * @param machines      The machines of the factory.
+	 * @param minutes       How many minutes the day lasts.
+	 * @param productionBin Where the delivered parts go.
+	 * @param eventDriven   Whether each machine skips its idle minutes (see EventDrivenEngine).
+	 * @param pool          Pool that runs the machines.
+	 */
+	static void runDay(List<PartMachine> machines, int minutes, Stack<CarPart> productionBin, boolean eventDriven, ForkJoinPool pool) {
+		PartMachine[] machineArray = new PartMachine[machines.size()];
+		int index = 0;
+		for (PartMachine machine : machines) {
+			machineArray[index++] = machine;
+		}
+		MachineOutput[] outputs = new MachineOutput[machineArray.length];
+		pool.invoke(new SimulateMachines(machineArray, outputs, 0, machineArray.length, minutes, eventDriven));
+
+		// Stable counting sort by minute: machines are visited in list order, so ties keep that order
+		int[] start = new int[minutes + 1];
+		for (MachineOutput output : outputs) {
+			for (int i = 0; i < output.arrivalCount; i++) {
+				start[output.arrivalMinutes[i] + 1]++;
+			}
+		}
+		for (int minute = 0; minute < minutes; minute++) {
+			start[minute + 1] += start[minute];
+		}
+		CarPart[] ordered = new CarPart[start[minutes]];
+		for (MachineOutput output : outputs) {
+			for (int i = 0; i < output.arrivalCount; i++) {
+				ordered[start[output.arrivalMinutes[i]]++] = output.arrivals[i];
+			}
+		}
+
+		productionBin.pushAll(ordered, 0, ordered.length);
+		for (MachineOutput output : outputs) {
+			productionBin.pushAll(output.leftovers, 0, output.leftoverCount);
+		}
+	}
+
+	/**
+	 * Splits the machine array until batches are small enough and simulates each batch.
+	 */
+	@SuppressWarnings("serial")
+	private static class SimulateMachines extends RecursiveAction {
+		private PartMachine[] machines;
+		private MachineOutput[] outputs;
+		private int from;
+		private int to;
+		private int minutes;
+		private boolean eventDriven;
+
+		SimulateMachines(PartMachine[] machines, MachineOutput[] outputs, int from, int to, int minutes, boolean eventDriven) {
+			this.machines = machines;
+			this.outputs = outputs;
+			this.from = from;
+			this.to = to;
+			this.minutes = minutes;
+			this.eventDriven = eventDriven;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from > BATCH_SIZE) {
+				int middle = (from + to) >>> 1;
+				invokeAll(new SimulateMachines(machines, outputs, from, middle, minutes, eventDriven),
+						new SimulateMachines(machines, outputs, middle, to, minutes, eventDriven));
+				return;
+			}
+			for (int i = from; i < to; i++) {
+				outputs[i] = eventDriven ? simulateEvents(machines[i], i) : simulateTicks(machines[i]);
+			}
+		}
+
+		private MachineOutput simulateTicks(PartMachine machine) {
+			MachineOutput output = new MachineOutput();
+			for (int minute = 0; minute < minutes; minute++) {
+				CarPart part = machine.produceCarPart();
+				if (part != null) {
+					output.addArrival(minute, part);
+				}
+			}
+			machine.getConveyorBelt().drainTo(part -> {
+				if (part != null) {
+					output.addLeftover(part);
+				}
+			}, machine.getConveyorBelt().size());
+			return output;
+		}
+
+		private MachineOutput simulateEvents(PartMachine machine, int index) {
+			MachineOutput output = new MachineOutput();
+			EventDrivenEngine.MachineSchedule schedule = new EventDrivenEngine.MachineSchedule(machine, index, minutes);
+			while (schedule.nextArrival != -1) {
+				int minute = schedule.nextArrival;
+				output.addArrival(minute, schedule.take());
+			}
+			schedule.drain(output::addLeftover);
+			return output;
+		}
+	}
+
+	/**
+	 * Everything one machine delivered during the day.
+	 */
+	private static class MachineOutput {
+		private static final int INITIAL_CAPACITY = 16;
+
+		private int[] arrivalMinutes = new int[INITIAL_CAPACITY];
+		private CarPart[] arrivals = new CarPart[INITIAL_CAPACITY];
+		private int arrivalCount;
+		private CarPart[] leftovers = new CarPart[INITIAL_CAPACITY];
+		private int leftoverCount;
+
+		void addArrival(int minute, CarPart part) {
+			if (arrivalCount == arrivals.length) {
+				arrivalMinutes = Arrays.copyOf(arrivalMinutes, 2 * arrivalCount);
+				arrivals = Arrays.copyOf(arrivals, 2 * arrivalCount);
+			}
+			arrivalMinutes[arrivalCount] = minute;
+			arrivals[arrivalCount++] = part;
+		}
+
+		void addLeftover(CarPart part) {
+			if (leftoverCount == leftovers.length) {
+				leftovers = Arrays.copyOf(leftovers, 2 * leftoverCount);
+			}
+			leftovers[leftoverCount++] = part;
+		}
+	}
+
+}
@@ -0,0 +1,482 @@
+package main;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import interfaces.List;
+
+/**
+ * Inventory of a single part type stored by columns instead of one CarPart object per part.
+ *
+ * Every part in a batch shares the batch's id and name, so only what changes from part to part is stored:
+ * the weights in double arrays and the defective flags in BitSets. Both are split in segments of
+ * SEGMENT_SIZE parts, so growing never copies more than a segment, and taking parts from the front
+ * (like orders do) releases whole segments once they are used up. A part costs 8 bytes plus a bit,
+ * instead of the 32 or so bytes of a CarPart plus the reference to it.
+ *
+ * get(), first(), last() and the iterator return views: CarPart objects that read and write the batch
+ * directly. A view is only valid while its part is in the batch. Since every part shares the batch's id
+ * and name, changing the id or name of a view copies the part out of the batch first: from then on it is
+ * a regular CarPart and the part in the batch stays as it was. Adding a part copies its weight and flag,
+ * so it must have the batch's id. Two parts are considered equal when they have the same id, weight and flag.
+ *
+ * @author Eliel Cruz Felix
+ */
+public class PartBatch implements List<CarPart> {
+
+	private static final int SEGMENT_SHIFT = 12;
+	private static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+	// Length of the first segment of a small batch, it doubles until it reaches SEGMENT_SIZE
+	private static final int FIRST_SEGMENT_SIZE = 16;
+
+	private int id;
+	private String name;
+	private double[][] weights = new double[1][];
+	private BitSet[] defects = new BitSet[1];
+	// Number of the segment stored in weights[0], counting from the first segment the batch ever had
+	private long firstSegment;
+	// Positions of the first part and after the last part, counting from the first part the batch ever had
+	private long head;
+	private long tail;
+
+	/**
+	 * Creates an empty batch.
+	 *
+	 * @param id   The id of every part in the batch.
+	 * @param name The name of every part in the batch.
+	 */
+	public PartBatch(int id, String name) {
+		this.id = id;
+		this.name = name;
+	}
+
+	/**
+	 * Creates an independent copy of this batch with the same parts.
+	 *
+	 * @return The copy.
+	 */
+	public PartBatch copy() {
+		PartBatch copy = new PartBatch(id, name);
+		copy.weights = new double[weights.length][];
+		copy.defects = new BitSet[defects.length];
+		for (int i = 0; i < weights.length; i++) {
+			if (weights[i] != null) {
+				copy.weights[i] = weights[i].clone();
+				copy.defects[i] = (BitSet) defects[i].clone();
+			}
+		}
+		copy.firstSegment = firstSegment;
+		copy.head = head;
+		copy.tail = tail;
+		return copy;
+	}
+
+	/**
+	 * Retrieves the id shared by the parts in the batch.
+	 *
+	 * @return The part id.
+	 */
+	public int getId() {
+		return id;
+	}
+
+	/**
+	 * Retrieves the name shared by the parts in the batch.
+	 *
+	 * @return The part name.
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Retrieves the weight of the part at index without creating a view.
+	 *
+	 * @param index The position of the part.
+	 * @return The weight of the part.
+	 */
+	public double getWeight(int index) {
+		checkIndex(index);
+		return weightAt(head + index);
+	}
+
+	/**
+	 * Checks if the part at index is defective without creating a view.
+	 *
+	 * @param index The position of the part.
+	 * @return True if the part is defective.
+	 */
+	public boolean isDefective(int index) {
+		checkIndex(index);
+		return defectAt(head + index);
+	}
+
+	@Override
+	public int size() {
+		return (int) (tail - head);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return head == tail;
+	}
+
+	/**
+	 * Adds the weight and flag of part at the end of the batch.
+	 *
+	 * @throws IllegalArgumentException If the part has a different id than the batch.
+	 */
+	@Override
+	public void add(CarPart part) {
+		checkPart(part);
+		append(part.getWeight(), part.isDetective());
+	}
+
+	@Override
+	public void add(int index, CarPart part) {
+		if (index < 0 || index > size()) {
+			throw new IndexOutOfBoundsException();
+		}
+		checkPart(part);
+		double weight = part.getWeight();
+		boolean defective = part.isDetective();
+		append(0, false);
+		// Shift the parts after index to the right
+		for (long position = tail - 1; position > head + index; position--) {
+			put(position, weightAt(position - 1), defectAt(position - 1));
+		}
+		put(head + index, weight, defective);
+	}
+
+	/**
+	 * Returns a view of the part at index.
+	 */
+	@Override
+	public CarPart get(int index) {
+		checkIndex(index);
+		return new PartView(this, head + index);
+	}
+
+	/**
+	 * Copies the weight and flag of part into position index.
+	 *
+	 * @return A copy (not a view) of the part that was at index.
+	 * @throws IllegalArgumentException If the part has a different id than the batch.
+	 */
+	@Override
+	public CarPart set(int index, CarPart part) {
+		checkIndex(index);
+		checkPart(part);
+		long position = head + index;
+		CarPart old = new CarPart(id, name, weightAt(position), defectAt(position));
+		put(position, part.getWeight(), part.isDetective());
+		return old;
+	}
+
+	/**
+	 * Removes the part at index. Removing the first part is O(1).
+	 */
+	@Override
+	public boolean remove(int index) {
+		checkIndex(index);
+		if (index == 0) {
+			takeFront(1);
+			return true;
+		}
+		// Shift the parts after index to the left
+		for (long position = head + index; position < tail - 1; position++) {
+			put(position, weightAt(position + 1), defectAt(position + 1));
+		}
+		tail--;
+		return true;
+	}
+
+	/**
+	 * Removes the first n parts of the batch, releasing the segments that become unused.
+	 *
+	 * @param n How many parts to remove from the front.
+	 * @throws IndexOutOfBoundsException If n is negative or bigger than the size.
+	 */
+	public void takeFront(int n) {
+		if (n < 0 || n > size()) {
+			throw new IndexOutOfBoundsException();
+		}
+		head += n;
+		if (head == tail) {
+			clear();
+			return;
+		}
+		int usedUp = (int) ((head >>> SEGMENT_SHIFT) - firstSegment);
+		if (usedUp > 0) {
+			System.arraycopy(weights, usedUp, weights, 0, weights.length - usedUp);
+			System.arraycopy(defects, usedUp, defects, 0, defects.length - usedUp);
+			for (int i = weights.length - usedUp; i < weights.length; i++) {
+				weights[i] = null;
+				defects[i] = null;
+			}
+			firstSegment += usedUp;
+		}
+	}
+
+	/**
+	 * Removes the parts from position from to position to - 1. Removing from the front is takeFront(to).
+	 */
+	@Override
+	public void removeRange(int from, int to) {
+		if (from == 0 && to >= 0 && to <= size()) {
+			takeFront(to);
+			return;
+		}
+		List.super.removeRange(from, to);
+	}
+
+	@Override
+	public boolean remove(CarPart part) {
+		int index = firstIndex(part);
+		if (index != -1) {
+			return remove(index);
+		}
+		return false;
+	}
+
+	@Override
+	public boolean contains(CarPart part) {
+		return firstIndex(part) != -1;
+	}
+
+	/**
+	 * Removes every part. The first segment is kept to be reused.
+	 */
+	@Override
+	public void clear() {
+		double[] first = weights[0];
+		BitSet firstDefects = defects[0];
+		weights = new double[1][];
+		defects = new BitSet[1];
+		if (first != null) {
+			weights[0] = first;
+			defects[0] = firstDefects;
+			firstDefects.clear();
+		}
+		firstSegment = 0;
+		head = 0;
+		tail = 0;
+	}
+
+	@Override
+	public int removeAll(CarPart part) {
+		int count = 0;
+		while (remove(part)) {
+			count++;
+		}
+		return count;
+	}
+
+	@Override
+	public int firstIndex(CarPart part) {
+		for (int i = 0; i < size(); i++) {
+			if (matches(head + i, part)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public int lastIndex(CarPart part) {
+		for (int i = size() - 1; i >= 0; i--) {
+			if (matches(head + i, part)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public CarPart first() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+		return get(0);
+	}
+
+	@Override
+	public CarPart last() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+		return get(size() - 1);
+	}
+
+	/**
+	 * Iterates the parts from first to last, returning a view of each one.
+	 */
+	@Override
+	public Iterator<CarPart> iterator() {
+		return new Iterator<CarPart>() {
+			private long position = head;
+
+			@Override
+			public boolean hasNext() {
+				return position < tail;
+			}
+
+			@Override
+			public CarPart next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				return new PartView(PartBatch.this, position++);
+			}
+		};
+	}
+
+	/**
+	 * Returns the content of the batch in the format { A, B, C }.
+	 */
+	@Override
+	public String toString() {
+		StringBuilder str = new StringBuilder("{ ");
+		for (int i = 0; i < size(); i++) {
+			str.append(name).append(i < size() - 1 ? ", " : " ");
+		}
+		return str.append("}").toString();
+	}
+
+	private void append(double weight, boolean defective) {
+		int segment = segmentOf(tail);
+		int offset = (int) (tail & (SEGMENT_SIZE - 1));
+		if (segment == weights.length) {
+			weights = Arrays.copyOf(weights, 2 * weights.length);
+			defects = Arrays.copyOf(defects, 2 * defects.length);
+		}
+		if (weights[segment] == null) {
+			// Small batches start with a small segment, big ones go straight to full segments
+			weights[segment] = new double[tail == 0 ? FIRST_SEGMENT_SIZE : SEGMENT_SIZE];
+			defects[segment] = new BitSet();
+		} else if (offset == weights[segment].length) {
+			weights[segment] = Arrays.copyOf(weights[segment], Math.min(SEGMENT_SIZE, 2 * offset));
+		}
+		tail++;
+		put(tail - 1, weight, defective);
+	}
+
+	private void put(long position, double weight, boolean defective) {
+		int segment = segmentOf(position);
+		int offset = (int) (position & (SEGMENT_SIZE - 1));
+		weights[segment][offset] = weight;
+		defects[segment].set(offset, defective);
+	}
+
+	private double weightAt(long position) {
+		return weights[segmentOf(position)][(int) (position & (SEGMENT_SIZE - 1))];
+	}
+
+	private boolean defectAt(long position) {
+		return defects[segmentOf(position)].get((int) (position & (SEGMENT_SIZE - 1)));
+	}
+
+	private int segmentOf(long position) {
+		return (int) ((position >>> SEGMENT_SHIFT) - firstSegment);
+	}
+
+	private boolean matches(long position, CarPart part) {
+		return part != null && part.getId() == id && Double.compare(part.getWeight(), weightAt(position)) == 0
+				&& part.isDetective() == defectAt(position);
+	}
+
+	private void checkIndex(int index) {
+		if (index < 0 || index >= size()) {
+			throw new IndexOutOfBoundsException();
+		}
+	}
+
+	private void checkPart(CarPart part) {
+		if (part.getId() != id) {
+			throw new IllegalArgumentException("Part " + part.getId() + " doesn't belong in the batch of part " + id);
+		}
+	}
+
+	/**
+	 * A part of a batch seen as a CarPart. Reads and writes go straight to the batch until setId or
+	 * setName is called; then the part is copied into the CarPart fields and the view leaves the batch.
+	 */
+	private static class PartView extends CarPart {
+		// null once the part was copied out of the batch
+		private PartBatch batch;
+		private long position;
+
+		PartView(PartBatch batch, long position) {
+			super(batch.id, batch.name, 0, false);
+			this.batch = batch;
+			this.position = position;
+		}
+
+		@Override
+		public int getId() {
+			return batch == null ? super.getId() : batch.id;
+		}
+
+		@Override
+		public void setId(int id) {
+			detach();
+			super.setId(id);
+		}
+
+		@Override
+		public String getName() {
+			return batch == null ? super.getName() : batch.name;
+		}
+
+		@Override
+		public void setName(String name) {
+			detach();
+			super.setName(name);
+		}
+
+		@Override
+		public double getWeight() {
+			return batch == null ? super.getWeight() : batch.weightAt(position);
+		}
+
+		@Override
+		public void setWeight(double weight) {
+			if (batch == null) {
+				super.setWeight(weight);
+				return;
+			}
+			batch.put(position, weight, batch.defectAt(position));
+		}
+
+		@Override
+		public boolean isDetective() {
+			return batch == null ? super.isDetective() : batch.defectAt(position);
+		}
+
+		@Override
+		public void setDetective(boolean isDetective) {
+			if (batch == null) {
+				super.setDetective(isDetective);
+				return;
+			}
+			batch.put(position, batch.weightAt(position), isDetective);
+		}
+
+		/**
+		 * Copies the part into the CarPart fields, so it no longer reads or writes the batch.
+		 */
+		private void detach() {
+			if (batch == null) {
+				return;
+			}
+			super.setId(batch.id);
+			super.setName(batch.name);
+			super.setWeight(batch.weightAt(position));
+			super.setDetective(batch.defectAt(position));
+			batch = null;
+		}
+	}
+
+}
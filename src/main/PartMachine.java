@@ -1,8 +1,8 @@
 package main;
 
-import data_structures.ListQueue;
+import data_structures.ArrayQueue;
 import interfaces.Queue;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 /**
  * Represents a machine responsible for producing car parts.
@@ -17,8 +17,14 @@ public class PartMachine {
 	 private double weightError;
 	 private int chanceOfDefective;
 	 private Queue<Integer> timer;
+	 // Same object as timer when it's a MachineTimer, so a tick doesn't go through the Queue methods
+	 private MachineTimer countdown;
 	 private Queue<CarPart> conveyorBelt;
 	 private int totalPartsProduced;
+	 private SplittableRandom random;
+	 
+	 // Number of slots on the conveyor belt
+	 private static final int CONVEYOR_BELT_LENGTH = 10;
 	 
 	 /**
 	     * Constructs a new PartMachine object with the given parameters.
@@ -30,15 +36,63 @@ public class PartMachine {
 	     * @param chanceOfDefective The chance of a part being defective.
 	     */
     public PartMachine(int id, CarPart p1, int period, double weightError, int chanceOfDefective) {
+    	this(id, p1, period, weightError, chanceOfDefective, new SplittableRandom());
+    }
+    
+    /**
+     * Constructs a new PartMachine object that draws the weights of its parts from the given random source.
+     * Two machines built with sources seeded the same way produce identical parts.
+     *
+     * @param id                The unique identifier of the machine.
+     * @param p1                The initial car part configuration for the machine.
+     * @param period            The production period of the machine.
+     * @param weightError       The potential weight error of the produced parts.
+     * @param chanceOfDefective The chance of a part being defective.
+     * @param random            The random source of this machine (not shared with other machines).
+     */
+    public PartMachine(int id, CarPart p1, int period, double weightError, int chanceOfDefective, SplittableRandom random) {
     	this.id = id;
     	this.part = p1;
         this.period = period;
         this.weightError = weightError;
         this.chanceOfDefective = chanceOfDefective;
-        this.timer = initializeTimer();
-        this.conveyorBelt = new ListQueue<>();
+        this.setTimer(initializeTimer());
+        this.conveyorBelt = new ArrayQueue<>(CONVEYOR_BELT_LENGTH);
         this.initializeConveyorBelt();
         this.totalPartsProduced = 0;
+        this.random = random;
+    }
+    
+    /**
+     * Creates a machine with the same configuration and the same current state (timer,
+     * conveyor belt and parts produced) as this one, but with its own random source.
+     * This machine's queues are rotated while copying, so it must not be running meanwhile.
+     *
+     * @param random The random source of the copy.
+     * @return The copy.
+     */
+    public PartMachine copy(SplittableRandom random) {
+        PartMachine copy = new PartMachine(id, part, period, weightError, chanceOfDefective, random);
+        if (countdown != null) {
+            copy.setTimer(countdown.copy());
+        } else {
+            copy.setTimer(copyQueue(timer, new ArrayQueue<>(Math.max(1, timer.size()))));
+        }
+        copy.setConveyorBelt(copyQueue(conveyorBelt, new ArrayQueue<>(CONVEYOR_BELT_LENGTH)));
+        copy.setTotalPartsProduced(totalPartsProduced);
+        return copy;
+    }
+    
+    /**
+     * Adds the content of source to target, in order, leaving source as it was.
+     */
+    private static <E> Queue<E> copyQueue(Queue<E> source, Queue<E> target) {
+        for (int i = 0; i < source.size(); i++) {
+            E value = source.dequeue();
+            target.enqueue(value);
+            source.enqueue(value);
+        }
+        return target;
     }
     
     /**
@@ -75,6 +129,7 @@ public class PartMachine {
      */
     public void setTimer(Queue<Integer> timer) {
        this.timer = timer;
+       this.countdown = timer instanceof MachineTimer ? (MachineTimer) timer : null;
     }
     
     /**
@@ -167,33 +222,50 @@ public class PartMachine {
         this.chanceOfDefective = chanceOfDefective;
     }
     
+    /**
+     * Retrieves the random source used for the weights of the produced parts.
+     *
+     * @return The random source.
+     */
+    public SplittableRandom getRandom() {
+        return random;
+    }
+    
+    /**
+     * Sets the random source used for the weights of the produced parts.
+     *
+     * @param random The new random source.
+     */
+    public void setRandom(SplittableRandom random) {
+        this.random = random;
+    }
+    
     /**
      * Initializes the conveyor belt queue with null values.
      */
     private void initializeConveyorBelt() {
-         for (int i = 0; i < 10; i++) {
+         for (int i = 0; i < CONVEYOR_BELT_LENGTH; i++) {
              this.conveyorBelt.enqueue(null);
          }
     }
     
     /**
-     * Resets the conveyor belt queue by clearing its content.
+     * Resets the conveyor belt queue by clearing its content and filling
+     * its slots with null values again.
      */
     public void resetConveyorBelt() {
        this.conveyorBelt.clear(); 
+       this.initializeConveyorBelt();
     }
     
     /**
      * Initializes the timer queue with countdown values based on the machine's period.
+     * The values are kept as a phase counter (see MachineTimer) instead of period boxed values.
      *
      * @return The initialized timer queue.
      */
     private Queue<Integer> initializeTimer() {
-        Queue<Integer> timer = new ListQueue<>();
-        for (int i = this.period - 1; i >= 0; i--) {
-            timer.enqueue(i);
-        }
-        return timer;
+        return new MachineTimer(this.period);
     }
     
     /**
@@ -202,13 +274,11 @@ public class PartMachine {
      * @return The value at the front of the timer queue.
      */
     public int tickTimer() {
-    	if(this.getTimer().isEmpty()) {
-            this.initializeTimer();
+        if (countdown != null) {
+            return countdown.tick();
         }
-    	
-        int thefront = this.getTimer().front();
-        this.getTimer().enqueue(this.getTimer().dequeue());
-        
+        int thefront = timer.front();
+        timer.enqueue(timer.dequeue());
         return thefront;
     }
     
@@ -218,25 +288,24 @@ public class PartMachine {
      * @return The produced car part.
      */
     public CarPart produceCarPart() {
-    	
-        if(this.getConveyorBelt().isEmpty()){
+        if (conveyorBelt.isEmpty()) {
             this.resetConveyorBelt();
         }
         
-        int time = tickTimer();
-        CarPart priorPart = this.getConveyorBelt().dequeue();
-        
-        if(time != 0){
-            conveyorBelt.enqueue(null);
-        }else{
-            Random random = new Random();
-            CarPart newPart = new CarPart(this.getPart().getId(), this.getPart().getName(), (this.part.getWeight() - weightError + 2 * weightError * random.nextDouble()), (this.getTotalPartsProduced() % this.getChanceOfDefective() == 0));
-            this.setTotalPartsProduced(this.getTotalPartsProduced() + 1);
-            conveyorBelt.enqueue(newPart);
-        }
-        
-        return priorPart;
-
+        // On a full belt shift() only replaces the slot of the part that falls off
+        return conveyorBelt.shift(tickTimer() == 0 ? createCarPart() : null);
+    }
+    
+    /**
+     * Creates the next part of this machine, with a random weight within the weight error,
+     * and counts it as produced.
+     *
+     * @return The new car part.
+     */
+    CarPart createCarPart() {
+        CarPart newPart = new CarPart(part.getId(), part.getName(), (part.getWeight() - weightError + 2 * weightError * random.nextDouble()), (totalPartsProduced % chanceOfDefective == 0));
+        totalPartsProduced++;
+        return newPart;
     }
 
     /**
@@ -0,0 +1,288 @@
+package main;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Runs the same factory many times with different seeds (Monte Carlo replications) and summarizes
+ * the results.
+ *
+ * The input files are read once into a template factory. Each replica is a copy of the template made with
+ * CarPartFactory.replicate(), so nothing is parsed again. Replicas run in parallel, and as soon as one
+ * finishes only a few numbers are kept from it (parts produced, defective and inventory weight per machine
+ * and fulfilled orders). Its inventory is thrown away.
+ *
+ * The seed only drives the weights of the parts: which parts are defective depends on how many parts the
+ * machine produced, so the counts are the same in every replica and the inventory weight is what varies.
+ *
+ * @author Eliel Cruz Felix
+ */
+public class ReplicationRunner {
+
+	private CarPartFactory template;
+	private ForkJoinPool pool;
+
+	/**
+	 * Reads the input files once and prepares to run replications on the common ForkJoin pool.
+	 *
+	 * @param orderPath The path to the file containing order information.
+	 * @param partsPath The path to the file containing machine and part information.
+	 * @throws IOException If there is an issue reading the files.
+	 */
+	public ReplicationRunner(String orderPath, String partsPath) throws IOException {
+		this(new CarPartFactory(orderPath, partsPath), ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Prepares to run replications of the given factory. The template itself is never run.
+	 *
+	 * @param template The factory every replica is copied from.
+	 * @param pool     The pool that runs the replicas.
+	 */
+	public ReplicationRunner(CarPartFactory template, ForkJoinPool pool) {
+		if (template == null || pool == null) {
+			throw new IllegalArgumentException("Template and pool cannot be null");
+		}
+		this.template = template;
+		this.pool = pool;
+	}
+
+	/**
+	 * Runs replicas of the template factory and summarizes them.
+	 * Replica i is seeded with the i-th seed drawn from masterSeed, so the summary only depends
+	 * on the arguments, not on how the replicas were scheduled.
+	 *
+	 * @param replicas   How many times to run the factory.
+	 * @param masterSeed Seed the replica seeds are drawn from.
+	 * @param days       The number of days to run each replica.
+	 * @param minutes    The number of minutes in each day.
+	 * @return The summary of all the replicas.
+	 */
+	public Summary run(int replicas, long masterSeed, int days, int minutes) {
+		if (replicas <= 0) {
+			throw new IllegalArgumentException("Replicas must be greater than 0");
+		}
+		int machineCount = template.getMachines().size();
+		long[] seeds = new long[replicas];
+		SplittableRandom master = new SplittableRandom(masterSeed);
+		for (int i = 0; i < replicas; i++) {
+			seeds[i] = master.nextLong();
+		}
+
+		double[][] produced = new double[machineCount][replicas];
+		double[][] defective = new double[machineCount][replicas];
+		double[][] weight = new double[machineCount][replicas];
+		double[] fulfilled = new double[replicas];
+
+		pool.submit(() -> IntStream.range(0, replicas).parallel().forEach(replica -> {
+			CarPartFactory factory;
+			// Copying rotates the template's queues, only one replica may do it at a time
+			synchronized (template) {
+				factory = template.replicate(seeds[replica]);
+			}
+			factory.runFactory(days, minutes);
+
+			int machine = 0;
+			for (PartMachine partMachine : factory.getMachines()) {
+				produced[machine][replica] = partMachine.getTotalPartsProduced();
+				defective[machine][replica] = factory.getDefectives().getOrDefault(partMachine.getPart().getId(), 0);
+				weight[machine][replica] = inventoryWeight(factory, partMachine.getPart().getId());
+				machine++;
+			}
+			for (Order order : factory.getOrders()) {
+				if (order.isFulfilled()) {
+					fulfilled[replica]++;
+				}
+			}
+		})).join();
+
+		Statistics[] producedStatistics = new Statistics[machineCount];
+		Statistics[] defectiveStatistics = new Statistics[machineCount];
+		Statistics[] weightStatistics = new Statistics[machineCount];
+		for (int machine = 0; machine < machineCount; machine++) {
+			producedStatistics[machine] = new Statistics(produced[machine]);
+			defectiveStatistics[machine] = new Statistics(defective[machine]);
+			weightStatistics[machine] = new Statistics(weight[machine]);
+		}
+		return new Summary(replicas, template, producedStatistics, defectiveStatistics, weightStatistics,
+				new Statistics(fulfilled));
+	}
+
+	/**
+	 * Adds up the weights of the parts with the given id left in a factory's inventory.
+	 */
+	private static double inventoryWeight(CarPartFactory factory, int partId) {
+		double weight = 0;
+		for (CarPart part : factory.getInventory().get(partId)) {
+			weight += part.getWeight();
+		}
+		return weight;
+	}
+
+	/**
+	 * Results of a set of replications.
+	 */
+	public static class Summary {
+		private int replicas;
+		private int[] machineIds;
+		private String[] partNames;
+		private Statistics[] produced;
+		private Statistics[] defective;
+		private Statistics[] inventoryWeight;
+		private Statistics fulfilledOrders;
+
+		private Summary(int replicas, CarPartFactory template, Statistics[] produced, Statistics[] defective,
+				Statistics[] inventoryWeight, Statistics fulfilledOrders) {
+			this.replicas = replicas;
+			this.machineIds = new int[produced.length];
+			this.partNames = new String[produced.length];
+			int machine = 0;
+			for (PartMachine partMachine : template.getMachines()) {
+				machineIds[machine] = partMachine.getId();
+				partNames[machine++] = partMachine.getPart().getName();
+			}
+			this.produced = produced;
+			this.defective = defective;
+			this.inventoryWeight = inventoryWeight;
+			this.fulfilledOrders = fulfilledOrders;
+		}
+
+		public int getReplicas() {
+			return replicas;
+		}
+
+		public int getMachineCount() {
+			return produced.length;
+		}
+
+		/**
+		 * Parts produced by the machine at the given position of the factory's machine list.
+		 */
+		public Statistics getProduced(int machine) {
+			return produced[machine];
+		}
+
+		/**
+		 * Defective parts of the machine at the given position of the factory's machine list.
+		 */
+		public Statistics getDefective(int machine) {
+			return defective[machine];
+		}
+
+		/**
+		 * Total weight of the parts of the machine at the given position that were left in the inventory.
+		 */
+		public Statistics getInventoryWeight(int machine) {
+			return inventoryWeight[machine];
+		}
+
+		/**
+		 * Number of orders fulfilled per replica.
+		 */
+		public Statistics getFulfilledOrders() {
+			return fulfilledOrders;
+		}
+
+		/**
+		 * Returns the summary in the same layout as CarPartFactory.generateReport().
+		 */
+		@Override
+		public String toString() {
+			String report = "\t\t\tREPLICATION REPORT (" + replicas + " replicas)\n\n";
+			report += "Parts Produced per Machine\n";
+			for (int machine = 0; machine < produced.length; machine++) {
+				report += "Machine " + machineIds[machine] + " Produced: " + partNames[machine] + " " + produced[machine]
+						+ "\t(defective " + defective[machine] + ")\n";
+			}
+			report += "\nInventory Weight per Machine\n";
+			for (int machine = 0; machine < inventoryWeight.length; machine++) {
+				report += "Machine " + machineIds[machine] + ": " + partNames[machine] + " " + inventoryWeight[machine] + "\n";
+			}
+			report += "\nFULFILLED ORDERS " + fulfilledOrders + "\n";
+			return report;
+		}
+	}
+
+	/**
+	 * Mean, standard deviation and percentiles of one value across the replicas.
+	 */
+	public static class Statistics {
+		private double[] samples;
+		private double[] sorted;
+		private double mean;
+		private double standardDeviation;
+
+		private Statistics(double[] samples) {
+			this.samples = samples;
+			this.sorted = samples.clone();
+			Arrays.sort(sorted);
+			double sum = 0;
+			for (double sample : sorted) {
+				sum += sample;
+			}
+			this.mean = sum / sorted.length;
+			double squares = 0;
+			for (double sample : sorted) {
+				squares += (sample - mean) * (sample - mean);
+			}
+			this.standardDeviation = Math.sqrt(squares / sorted.length);
+		}
+
+		/**
+		 * Returns the value of one replica.
+		 *
+		 * @param replica The number of the replica, from 0.
+		 * @return The value the replica ended with.
+		 */
+		public double getSample(int replica) {
+			return samples[replica];
+		}
+
+		public double getMean() {
+			return mean;
+		}
+
+		public double getStandardDeviation() {
+			return standardDeviation;
+		}
+
+		public double getMin() {
+			return sorted[0];
+		}
+
+		public double getMax() {
+			return sorted[sorted.length - 1];
+		}
+
+		/**
+		 * Returns the given percentile (nearest rank).
+		 *
+		 * @param percentile A value between 0 and 100.
+		 * @return The smallest sample that is greater or equal than percentile% of the samples.
+		 */
+		public double getPercentile(double percentile) {
+			if (percentile < 0 || percentile > 100) {
+				throw new IllegalArgumentException("Percentile must be between 0 and 100");
+			}
+			int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+			return sorted[Math.max(0, rank - 1)];
+		}
+
+		/**
+		 * Returns the statistics in the format: mean {mean} sd {sd} [p5 {p5}, p50 {p50}, p95 {p95}],
+		 * or {value} (every replica) if all the replicas ended with the same value.
+		 */
+		@Override
+		public String toString() {
+			if (getMin() == getMax()) {
+				return String.format("%.2f (every replica)", mean);
+			}
+			return String.format("mean %.2f sd %.2f [p5 %.2f, p50 %.2f, p95 %.2f]", mean, standardDeviation,
+					getPercentile(5), getPercentile(50), getPercentile(95));
+		}
+	}
+
+}
@@ -0,0 +1,282 @@
+package main;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import data_structures.ArrayList;
+import interfaces.Entry;
+import interfaces.List;
+import interfaces.Map;
+
+/**
+ * The parts requested by an order, stored as two arrays sorted by part id: the ids and their quantities.
+ *
+ * An order only requests a few parts and never changes them, so there is no need for a hash table:
+ * looking up a part is a binary search over a handful of ints, and going over the parts is a loop over
+ * the arrays. A typical order of two or three parts takes around 80 bytes.
+ *
+ * It is a read-only Map: every operation that would modify it throws UnsupportedOperationException.
+ *
+ * @author Eliel Cruz Felix
+ */
+public final class RequestedParts implements Map<Integer, Integer> {
+
+	private static final String READ_ONLY = "The requested parts of an order can't be modified";
+
+	private final int[] partIds;
+	private final int[] quantities;
+
+	private RequestedParts(int[] partIds, int[] quantities) {
+		this.partIds = partIds;
+		this.quantities = quantities;
+	}
+
+	/**
+	 * Creates the requested parts from the first count pairs of the given arrays, which may be in any order.
+	 * Quantities of a part that appears more than once are added together. The arrays are not kept.
+	 *
+	 * @param partIds    The ids of the parts.
+	 * @param quantities The quantity of each part.
+	 * @param count      How many pairs to take.
+	 * @return The requested parts.
+	 */
+	public static RequestedParts of(int[] partIds, int[] quantities, int count) {
+		int[] ids = Arrays.copyOf(partIds, count);
+		int[] amounts = Arrays.copyOf(quantities, count);
+		// Insertion sort, orders only have a few parts
+		for (int i = 1; i < count; i++) {
+			int id = ids[i];
+			int amount = amounts[i];
+			int j = i - 1;
+			while (j >= 0 && ids[j] > id) {
+				ids[j + 1] = ids[j];
+				amounts[j + 1] = amounts[j];
+				j--;
+			}
+			ids[j + 1] = id;
+			amounts[j + 1] = amount;
+		}
+		int distinct = 0;
+		for (int i = 0; i < count; i++) {
+			if (distinct > 0 && ids[distinct - 1] == ids[i]) {
+				amounts[distinct - 1] += amounts[i];
+			} else {
+				ids[distinct] = ids[i];
+				amounts[distinct++] = amounts[i];
+			}
+		}
+		if (distinct < count) {
+			ids = Arrays.copyOf(ids, distinct);
+			amounts = Arrays.copyOf(amounts, distinct);
+		}
+		return new RequestedParts(ids, amounts);
+	}
+
+	/**
+	 * Creates the requested parts with the same entries as the given map.
+	 *
+	 * @param map The map from part id to quantity.
+	 * @return The requested parts, or map itself if it already is one.
+	 */
+	public static RequestedParts copyOf(Map<Integer, Integer> map) {
+		if (map instanceof RequestedParts) {
+			return (RequestedParts) map;
+		}
+		int[] ids = new int[map.size()];
+		int[] amounts = new int[map.size()];
+		int count = 0;
+		for (Entry<Integer, Integer> entry : map.entries()) {
+			ids[count] = entry.getKey();
+			amounts[count++] = entry.getValue();
+		}
+		return of(ids, amounts, count);
+	}
+
+	/**
+	 * Retrieves the id of the i-th requested part, in increasing order of id.
+	 *
+	 * @param i The position of the part, from 0 to size() - 1.
+	 * @return The part id.
+	 */
+	public int partIdAt(int i) {
+		return partIds[i];
+	}
+
+	/**
+	 * Retrieves the quantity of the i-th requested part, in increasing order of id.
+	 *
+	 * @param i The position of the part, from 0 to size() - 1.
+	 * @return The quantity requested.
+	 */
+	public int quantityAt(int i) {
+		return quantities[i];
+	}
+
+	/**
+	 * Retrieves the quantity requested of a part without boxing.
+	 *
+	 * @param partId The id of the part.
+	 * @return The quantity requested, 0 if the part isn't requested.
+	 */
+	public int quantityOf(int partId) {
+		int i = Arrays.binarySearch(partIds, partId);
+		return i < 0 ? 0 : quantities[i];
+	}
+
+	@Override
+	public int size() {
+		return partIds.length;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return partIds.length == 0;
+	}
+
+	@Override
+	public Integer get(Integer key) {
+		if (key == null) {
+			throw new IllegalArgumentException("Invalid parameter");
+		}
+		int i = Arrays.binarySearch(partIds, key);
+		return i < 0 ? null : quantities[i];
+	}
+
+	@Override
+	public Integer getOrDefault(Integer key, Integer defaultValue) {
+		Integer value = get(key);
+		return value == null ? defaultValue : value;
+	}
+
+	@Override
+	public boolean containsKey(Integer key) {
+		return get(key) != null;
+	}
+
+	@Override
+	public List<Integer> getKeys() {
+		List<Integer> result = new ArrayList<>(Math.max(1, partIds.length));
+		for (int partId : partIds) {
+			result.add(partId);
+		}
+		return result;
+	}
+
+	@Override
+	public List<Integer> getValues() {
+		List<Integer> result = new ArrayList<>(Math.max(1, quantities.length));
+		for (int quantity : quantities) {
+			result.add(quantity);
+		}
+		return result;
+	}
+
+	/**
+	 * Calls action on every requested part, in increasing order of id.
+	 */
+	@Override
+	public void forEach(BiConsumer<? super Integer, ? super Integer> action) {
+		for (int i = 0; i < partIds.length; i++) {
+			action.accept(partIds[i], quantities[i]);
+		}
+	}
+
+	/**
+	 * Returns the requested parts in increasing order of id. Every iterator reuses a single entry that
+	 * points to the current position, so an entry is only valid until the next call to next().
+	 */
+	@Override
+	public Iterable<Entry<Integer, Integer>> entries() {
+		return PositionIterator::new;
+	}
+
+	@Override
+	public Integer put(Integer key, Integer value) {
+		throw new UnsupportedOperationException(READ_ONLY);
+	}
+
+	@Override
+	public Integer remove(Integer key) {
+		throw new UnsupportedOperationException(READ_ONLY);
+	}
+
+	@Override
+	public void clear() {
+		throw new UnsupportedOperationException(READ_ONLY);
+	}
+
+	@Override
+	public Integer putIfAbsent(Integer key, Integer value) {
+		throw new UnsupportedOperationException(READ_ONLY);
+	}
+
+	@Override
+	public Integer computeIfAbsent(Integer key, Function<? super Integer, ? extends Integer> mappingFunction) {
+		throw new UnsupportedOperationException(READ_ONLY);
+	}
+
+	@Override
+	public Integer merge(Integer key, Integer value, BiFunction<? super Integer, ? super Integer, ? extends Integer> remappingFunction) {
+		throw new UnsupportedOperationException(READ_ONLY);
+	}
+
+	@Override
+	public Integer compute(Integer key, BiFunction<? super Integer, ? super Integer, ? extends Integer> remappingFunction) {
+		throw new UnsupportedOperationException(READ_ONLY);
+	}
+
+	@Override
+	public void print(PrintStream out) {
+		out.println(this);
+	}
+
+	/**
+	 * Returns the requested parts in the format { (id, quantity) (id, quantity) }.
+	 */
+	@Override
+	public String toString() {
+		StringBuilder str = new StringBuilder("{ ");
+		for (int i = 0; i < partIds.length; i++) {
+			str.append("(").append(partIds[i]).append(", ").append(quantities[i]).append(") ");
+		}
+		return str.append("}").toString();
+	}
+
+	/**
+	 * Goes over the requested parts, handing out the same entry every time.
+	 */
+	private class PositionIterator implements Iterator<Entry<Integer, Integer>>, Entry<Integer, Integer> {
+		// Position returned by the next call to next()
+		private int next = 0;
+
+		@Override
+		public boolean hasNext() {
+			return next < partIds.length;
+		}
+
+		@Override
+		public Entry<Integer, Integer> next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			next++;
+			return this;
+		}
+
+		@Override
+		public Integer getKey() {
+			return partIds[next - 1];
+		}
+
+		@Override
+		public Integer getValue() {
+			return quantities[next - 1];
+		}
+	}
+
+}
@@ -2,25 +2,46 @@ package testers;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import data_structures.ArrayList;
+import data_structures.ArrayQueue;
+import data_structures.ArrayStack;
 import data_structures.BasicHashFunction;
+import data_structures.DoublyLinkedList;
 import data_structures.HashTableSC;
+import data_structures.IntIntHashMap;
+import data_structures.InventoryBin;
+import interfaces.Entry;
 import interfaces.List;
 import interfaces.Map;
+import interfaces.Queue;
 import interfaces.Stack;
 import main.CarPart;
 import main.CarPartFactory;
+import main.CountingBin;
+import main.CsvFormatException;
 import main.Order;
 import main.PartMachine;
+import main.ReplicationRunner;
 
 public class StudentTester {
 
@@ -31,6 +52,44 @@ public class StudentTester {
     private PartMachine machine1;
     private CarPartFactory factory;
     
+    /**
+     * Creates a factory from the input files with a fixed seed, so two of them produce the same parts.
+     */
+    private static CarPartFactory seededFactory() throws IOException {
+        return new CarPartFactory("input/orders.csv", "input/parts.csv", 42);
+    }
+    
+    /**
+     * Writes the contents to a temporary file, deleted when the tests end, and returns its path.
+     */
+    private static String inputFile(String contents) throws IOException {
+        Path file = Files.createTempFile("input", ".csv");
+        file.toFile().deleteOnExit();
+        Files.write(file, contents.getBytes(StandardCharsets.UTF_8));
+        return file.toString();
+    }
+    
+    /**
+     * Checks that two factories that ran the same days ended the same way: every machine produced the
+     * same amount of parts, with the same defectives and inventory amount, and the same orders were fulfilled.
+     */
+    private static void assertSameOutcome(CarPartFactory expected, CarPartFactory actual) {
+        assertEquals(expected.getMachines().size(), actual.getMachines().size(), "Has a different amount of machines.");
+        for (int i = 0; i < expected.getMachines().size(); i++) {
+            PartMachine expectedMachine = expected.getMachines().get(i);
+            PartMachine actualMachine = actual.getMachines().get(i);
+            int id = expectedMachine.getPart().getId();
+            assertAll(
+                () -> assertEquals(expectedMachine.getTotalPartsProduced(), actualMachine.getTotalPartsProduced(), "Produced a different amount of parts."),
+                () -> assertEquals(expected.getDefectives().get(id), actual.getDefectives().get(id), "Has different defective count."),
+                () -> assertEquals(expected.getInventory().get(id).size(), actual.getInventory().get(id).size(), "Has different inventory amount.")
+            );
+        }
+        for (int i = 0; i < expected.getOrders().size(); i++) {
+            assertEquals(expected.getOrders().get(i).isFulfilled(), actual.getOrders().get(i).isFulfilled(), "Fulfilled different orders.");
+        }
+    }
+    
     @Nested
     @DisplayName("CarPart Tests")
     public class TestCarPart {
@@ -332,6 +391,180 @@ public class StudentTester {
             );    
         }
        
+        @Test
+        @DisplayName("Testing factories with the same seed produce the same parts")
+        public void testSeed() throws IOException {
+            CarPartFactory first = seededFactory();
+            CarPartFactory second = seededFactory();
+            first.runFactory(1, 60);
+            second.runFactory(1, 60);
+            for (PartMachine machine : first.getMachines()) {
+                List<CarPart> expected = first.getInventory().get(machine.getPart().getId());
+                List<CarPart> actual = second.getInventory().get(machine.getPart().getId());
+                assertEquals(expected.size(), actual.size(), "Has different inventory amount.");
+                for (int i = 0; i < expected.size(); i++) {
+                    assertEquals(expected.get(i).getWeight(), actual.get(i).getWeight(), "Produced a part with a different weight.");
+                }
+            }
+        }
+        
+        @Test
+        @DisplayName("Testing daily order processing ships orders as soon as possible")
+        public void testDailyOrderProcessing() throws IOException {
+            CarPartFactory daily = seededFactory();
+            CarPartFactory oneDay = seededFactory();
+            CarPartFactory batch = seededFactory();
+            daily.setDailyOrderProcessing(true);
+            daily.runFactory(3, 60);
+            oneDay.runFactory(1, 60);
+            batch.runFactory(3, 60);
+            
+            assertEquals(3, daily.getDaysRun(), "Counted the wrong number of days");
+            for (int i = 0; i < daily.getOrders().size(); i++) {
+                Order dailyOrder = daily.getOrders().get(i);
+                Order batchOrder = batch.getOrders().get(i);
+                assertEquals(oneDay.getOrders().get(i).isFulfilled(), dailyOrder.getFulfilledDay() == 1, "First day should decide like a one day run");
+                assertEquals(dailyOrder.isFulfilled(), dailyOrder.getFulfilledDay() >= 1 && dailyOrder.getFulfilledDay() <= 3, "Has wrong fulfilled day");
+                assertEquals(batchOrder.isFulfilled() ? 3 : -1, batchOrder.getFulfilledDay(), "Batch orders ship on the last day");
+            }
+        }
+        
+        @Test
+        @DisplayName("Testing an order reset after the orders were indexed is processed again")
+        public void testOrderResetAfterIndex() throws IOException {
+            CarPartFactory processing = seededFactory();
+            processing.runFactory(1, 60);
+            // Processing the same orders a second time builds the index
+            processing.processOrders();
+            Order reset = null;
+            for (Order order : processing.getOrders()) {
+                if (order.isFulfilled()) {
+                    reset = order;
+                    break;
+                }
+            }
+            assertTrue(reset != null, "Should fulfil at least one order on the first day");
+            reset.setFulfilled(false);
+            reset.setFulfilledDay(-1);
+            processing.runFactory(5, 60);
+            assertTrue(reset.isFulfilled(), "Didn't process an order that was reset after indexing");
+        }
+        
+        @Test
+        @DisplayName("Testing order changes after indexing are seen without walking the orders")
+        public void testOrderChangeAfterIndex() throws IOException {
+            CarPartFactory processing = seededFactory();
+            int[] walks = new int[1];
+            List<Order> orders = new ArrayList<Order>() {
+                @Override
+                public Iterator<Order> iterator() {
+                    walks[0]++;
+                    return super.iterator();
+                }
+            };
+            orders.addAll(processing.getOrders());
+            processing.setOrders(orders);
+            // The first time the orders are walked, the second time the index is built
+            processing.processOrders();
+            processing.processOrders();
+            walks[0] = 0;
+            processing.processOrders();
+            assertEquals(0, walks[0], "Walked the orders although nothing changed.");
+            
+            Order pending = null;
+            for (Order order : orders) {
+                if (!order.isFulfilled()) {
+                    pending = order;
+                    break;
+                }
+            }
+            assertTrue(pending != null, "Should have a pending order before running any day");
+            pending.setRequestedParts(new HashTableSC<>(1, new BasicHashFunction()));
+            processing.processOrders();
+            assertTrue(pending.isFulfilled(), "Didn't see an order given other parts after indexing");
+            
+            Order replaced = new Order(-1, "Replacement", new HashTableSC<>(1, new BasicHashFunction()), false);
+            processing.processOrders();
+            orders.set(orders.size() - 1, replaced);
+            processing.processOrders();
+            assertTrue(replaced.isFulfilled(), "Didn't see an order replaced after indexing");
+        }
+        
+        @Test
+        @DisplayName("Testing counts only inventory gives the same results")
+        public void testCountsOnlyInventory() throws IOException {
+            CarPartFactory counting = seededFactory();
+            CarPartFactory keeping = seededFactory();
+            counting.setCountsOnlyInventory(true);
+            counting.runFactory(2, 60);
+            keeping.runFactory(2, 60);
+            assertSameOutcome(keeping, counting);
+            
+            for (PartMachine machine : counting.getMachines()) {
+                int id = machine.getPart().getId();
+                CountingBin bin = (CountingBin) counting.getInventory().get(id);
+                assertAll(
+                    () -> assertEquals(machine.getTotalPartsProduced() - counting.getDefectives().get(id), bin.getAdded(), "Counted wrong amount of parts."),
+                    () -> assertTrue(bin.getAdded() == 0 || (bin.getMinWeight() <= bin.getMeanWeight() && bin.getMeanWeight() <= bin.getMaxWeight()), "Mean weight is out of range."),
+                    () -> assertTrue(bin.getAdded() == 0 || bin.getWeightVariance() >= 0, "Variance is negative.")
+                );
+                int visited = 0;
+                for (CarPart counted : bin) {
+                    assertEquals(id, counted.getId(), "Iterated a part with a different id.");
+                    assertEquals(bin.getMeanWeight(), counted.getWeight(), "Iterated part should have the mean weight.");
+                    visited++;
+                }
+                assertEquals(bin.size(), visited, "Didn't iterate one part per counted part.");
+            }
+        }
+        
+        @Test
+        @DisplayName("Testing columnar inventory keeps the same parts")
+        public void testColumnarInventory() throws IOException {
+            CarPartFactory columnar = seededFactory();
+            CarPartFactory keeping = seededFactory();
+            columnar.setColumnarInventory(true);
+            columnar.runFactory(2, 60);
+            keeping.runFactory(2, 60);
+            assertSameOutcome(keeping, columnar);
+            
+            for (PartMachine machine : columnar.getMachines()) {
+                List<CarPart> expected = keeping.getInventory().get(machine.getPart().getId());
+                List<CarPart> actual = columnar.getInventory().get(machine.getPart().getId());
+                for (int i = 0; i < expected.size(); i++) {
+                    assertEquals(expected.get(i).getWeight(), actual.get(i).getWeight(), "Stored a different weight.");
+                    assertEquals(expected.get(i).getName(), actual.get(i).getName(), "Stored a different name.");
+                    assertEquals(expected.get(i).getId(), actual.get(i).getId(), "Stored a different id.");
+                }
+            }
+            
+            List<CarPart> batch = columnar.getInventory().get(columnar.getMachines().get(0).getPart().getId());
+            CarPart view = batch.get(0);
+            String name = view.getName();
+            double weight = view.getWeight();
+            view.setName("Renamed");
+            assertAll(
+                () -> assertEquals("Renamed", view.getName(), "Didn't rename the part."),
+                () -> assertEquals(weight, view.getWeight(), "Renamed part lost its weight."),
+                () -> assertEquals(name, batch.get(0).getName(), "Renaming a part changed the inventory.")
+            );
+        }
+        
+        @Test
+        @DisplayName("Testing the requested parts read from the orders file")
+        public void testRequestedParts() {
+            Map<Integer, Integer> requested = factory.getOrders().get(79).getRequestedParts();
+            List<Integer> keys = requested.getKeys();
+            assertAll(
+                () -> assertEquals(3, keys.size(), "Has incorrect amount of ordered parts"),
+                () -> assertEquals(1, keys.get(0), "Parts are not sorted by id"),
+                () -> assertEquals(5, keys.get(1), "Parts are not sorted by id"),
+                () -> assertEquals(6, keys.get(2), "Parts are not sorted by id"),
+                () -> assertEquals(null, requested.get(2), "Returned a part that wasn't requested"),
+                () -> assertThrows(UnsupportedOperationException.class, () -> requested.put(2, 1), "Requested parts were modified")
+            );
+        }
+
         @Test
         @DisplayName("Testing process orders")
         public void testProcessOrders() {
@@ -365,6 +598,409 @@ public class StudentTester {
                 () -> assertEquals(0, factory.getInventory().get(13).size(), "Has wrong inventory amount after fulfilling orders.")
             );    
         }
+        
+        @Test
+        @DisplayName("Testing an order with a negative quantity takes nothing from that part")
+        public void testNegativeQuantity() {
+            factory.getOrders().clear();
+            Map<Integer, Integer> reqParts = new HashTableSC<>(2, new BasicHashFunction());
+            reqParts.put(1, -3);
+            reqParts.put(2, 1);
+            factory.getOrders().add(new Order(1, "Ben", reqParts, false));
+            factory.runFactory(1, 30);
+            assertAll(
+                () -> assertTrue(factory.getOrders().get(0).isFulfilled(), "There should be enough parts to fulfil this order"),
+                () -> assertEquals(factory.getMachines().get(0).getTotalPartsProduced() - factory.getDefectives().get(1), factory.getInventory().get(1).size(), "Took parts for a negative quantity.")
+            );
+        }
+    }
+    @Nested
+    @DisplayName("Data Structure Tests")
+    public class TestDataStructures {
+        
+        @Test
+        @DisplayName("Testing popAll keeps the rest of the stack when the action throws")
+        public void testPopAllThrowing() {
+            Stack<Integer> stack = new ArrayStack<>();
+            for (int i = 0; i < 5; i++) {
+                stack.push(i);
+            }
+            List<Integer> popped = new ArrayList<>();
+            assertThrows(IllegalStateException.class, () -> stack.popAll(value -> {
+                if (value == 2) {
+                    throw new IllegalStateException();
+                }
+                popped.add(value);
+            }), "Should pass on the exception of the action.");
+            assertAll(
+                () -> assertEquals(2, popped.size(), "Popped the wrong amount of values before the exception."),
+                () -> assertEquals(2, stack.size(), "Has the wrong size after the exception."),
+                () -> assertEquals(1, stack.top(), "Has the wrong top after the exception.")
+            );
+            stack.push(7);
+            assertEquals(7, stack.pop(), "Can't be used after the exception.");
+        }
+        
+        @Test
+        @DisplayName("Testing drainTo on a queue that wraps around its array")
+        public void testDrainToWrapping() {
+            Queue<Integer> queue = new ArrayQueue<>(4);
+            for (int i = 1; i <= 4; i++) {
+                queue.enqueue(i);
+            }
+            queue.dequeue();
+            queue.dequeue();
+            queue.enqueue(5);
+            queue.enqueue(6);
+            List<Integer> drained = new ArrayList<>();
+            assertEquals(3, queue.drainTo(drained::add, 3), "Drained the wrong amount of values.");
+            assertAll(
+                () -> assertEquals(3, drained.get(0), "Drained the values in the wrong order."),
+                () -> assertEquals(4, drained.get(1), "Drained the values in the wrong order."),
+                () -> assertEquals(5, drained.get(2), "Drained the values in the wrong order."),
+                () -> assertEquals(1, queue.size(), "Has the wrong size after draining."),
+                () -> assertEquals(6, queue.front(), "Has the wrong front after draining.")
+            );
+            assertEquals(1, queue.drainTo(drained::add, 10), "Drained more values than the queue had.");
+            assertTrue(queue.isEmpty(), "Should be empty after draining every value.");
+        }
+        
+        @Test
+        @DisplayName("Testing shift on a full queue")
+        public void testShiftFull() {
+            Queue<Integer> queue = new ArrayQueue<>(3);
+            for (int i = 1; i <= 3; i++) {
+                queue.enqueue(i);
+            }
+            assertEquals(1, queue.shift(4), "Returned the wrong front.");
+            assertEquals(2, queue.shift(5), "Returned the wrong front.");
+            assertEquals(3, queue.size(), "Has the wrong size after shifting.");
+            for (int expected = 3; expected <= 5; expected++) {
+                assertEquals(expected, queue.dequeue(), "Has the values in the wrong order after shifting.");
+            }
+            assertThrows(NoSuchElementException.class, () -> queue.shift(6), "Shifted an empty queue.");
+        }
+        
+        @Test
+        @DisplayName("Testing removeRange in the middle of a list")
+        public void testRemoveRangeMiddle() {
+            List<List<Integer>> lists = new ArrayList<>();
+            lists.add(new ArrayList<>());
+            lists.add(new InventoryBin<>());
+            for (List<Integer> list : lists) {
+                for (int i = 0; i < 10; i++) {
+                    list.add(i);
+                }
+                list.removeRange(3, 6);
+                assertEquals(7, list.size(), "Has the wrong size after removing a range.");
+                int[] expected = {0, 1, 2, 6, 7, 8, 9};
+                for (int i = 0; i < expected.length; i++) {
+                    assertEquals(expected[i], list.get(i), "Has the wrong values after removing a range.");
+                }
+                assertThrows(IndexOutOfBoundsException.class, () -> list.removeRange(5, 4), "Removed a range that ends before it starts.");
+            }
+        }
+        
+        @Test
+        @DisplayName("Testing HashTableSC keeps every entry while it rehashes across resizes")
+        public void testIncrementalRehash() {
+            Map<Integer, Integer> table = new HashTableSC<>(2, new BasicHashFunction());
+            boolean[] removed = new boolean[300];
+            for (int key = 0; key < 300; key++) {
+                table.put(key, key * 2);
+                // Keys put before the resize may still be in the old buckets
+                int older = key / 2;
+                assertEquals(removed[older] ? null : older * 2, table.get(older), "Lost a key while rehashing.");
+                if (key % 10 == 9) {
+                    assertEquals((key - 5) * 2, table.remove(key - 5), "Removed the wrong value while rehashing.");
+                    removed[key - 5] = true;
+                }
+            }
+            assertEquals(270, table.size(), "Has the wrong size after rehashing.");
+            int visited = 0;
+            for (Entry<Integer, Integer> entry : table.entries()) {
+                assertEquals(entry.getKey() * 2, entry.getValue(), "Visited an entry with the wrong value.");
+                visited++;
+            }
+            assertEquals(270, visited, "Visited the wrong amount of entries.");
+            for (int key = 0; key < 300; key++) {
+                assertEquals(key % 10 != 4, table.containsKey(key), "Has the wrong keys after rehashing.");
+            }
+            assertEquals(12, table.merge(3, 6, Integer::sum), "Merged into the wrong value.");
+            assertEquals(null, table.get(4), "Found a removed key.");
+        }
+        
+        @Test
+        @DisplayName("Testing IntIntHashMap finds every key after backward-shift removals")
+        public void testBackwardShiftRemove() {
+            IntIntHashMap map = new IntIntHashMap();
+            for (int key = 0; key < 1000; key++) {
+                map.put(key * 64, key);
+            }
+            for (int key = 0; key < 1000; key += 3) {
+                assertTrue(map.remove(key * 64), "Didn't remove a present key.");
+            }
+            assertTrue(!map.remove(64 * 3), "Removed a key twice.");
+            assertEquals(666, map.size(), "Has the wrong size after removing.");
+            for (int key = 0; key < 1000; key++) {
+                assertEquals(key % 3 == 0 ? -1 : key, map.getOrDefault(key * 64, -1), "Lost a key after removing its neighbours.");
+            }
+            for (int key = 0; key < 1000; key += 3) {
+                map.put(key * 64, -key);
+            }
+            assertEquals(1000, map.size(), "Has the wrong size after putting the keys back.");
+            assertEquals(-999, map.getOrDefault(999 * 64, 0), "Lost a key that was put back.");
+        }
+        
+        @Test
+        @DisplayName("Testing DoublyLinkedList positions from both ends")
+        public void testDoublyLinkedListPositions() {
+            List<Integer> list = new DoublyLinkedList<>();
+            for (int i = 0; i < 10; i++) {
+                list.add(i);
+            }
+            list.add(8, 80);
+            list.add(1, 10);
+            list.remove(9);
+            assertEquals(7, list.set(8, 70), "Replaced the wrong value.");
+            int[] expected = {0, 10, 1, 2, 3, 4, 5, 6, 70, 8, 9};
+            assertEquals(expected.length, list.size(), "Has the wrong size.");
+            int position = 0;
+            for (int value : list) {
+                assertEquals(expected[position], list.get(position), "Got the wrong value by position.");
+                assertEquals(expected[position++], value, "Iterated the wrong value.");
+            }
+        }
+        
+        @Test
+        @DisplayName("Testing DoublyLinkedList list iterator")
+        public void testDoublyLinkedListIterator() {
+            DoublyLinkedList<Integer> list = new DoublyLinkedList<>();
+            for (int i = 0; i < 6; i++) {
+                list.add(i);
+            }
+            ListIterator<Integer> backwards = list.listIterator(list.size());
+            for (int expected = 5; expected >= 0; expected--) {
+                assertEquals(expected, backwards.previous(), "Went back to the wrong value.");
+            }
+            assertTrue(!backwards.hasPrevious(), "Should be at the start of the list.");
+            
+            ListIterator<Integer> cursor = list.listIterator(3);
+            assertEquals(3, cursor.next(), "Started at the wrong position.");
+            cursor.set(30);
+            cursor.add(35);
+            assertEquals(35, cursor.previous(), "Added the value in the wrong position.");
+            cursor.remove();
+            assertEquals(4, cursor.nextIndex(), "Has the wrong position after removing.");
+            assertEquals(30, cursor.previous(), "Has the wrong value before the cursor.");
+            cursor.remove();
+            assertEquals(4, cursor.next(), "Has the wrong value after the cursor.");
+            int[] expected = {0, 1, 2, 4, 5};
+            assertEquals(expected.length, list.size(), "Has the wrong size after using the iterator.");
+            for (int i = 0; i < expected.length; i++) {
+                assertEquals(expected[i], list.get(i), "Has the wrong values after using the iterator.");
+            }
+            
+            list.add(6);
+            assertThrows(ConcurrentModificationException.class, cursor::next, "Didn't notice the list changed.");
+        }
+    }
+    @Nested
+    @DisplayName("Input File Tests")
+    public class TestInputFiles {
+        
+        @Test
+        @DisplayName("Testing a malformed order reports its line and column")
+        public void testOrderFormatError() throws IOException {
+            String orders = inputFile("ID,Customer,RequestedParts\n1,Al,x\n");
+            CsvFormatException error = assertThrows(CsvFormatException.class, () -> new CarPartFactory(orders, "input/parts.csv"), "Didn't report the malformed order.");
+            assertAll(
+                () -> assertEquals("Line 2, column 6: expected a number but found 'x'", error.getMessage(), "Reported the wrong message."),
+                () -> assertEquals(2, error.getLine(), "Reported the wrong line."),
+                () -> assertEquals(6, error.getColumn(), "Reported the wrong column.")
+            );
+        }
+        
+        @Test
+        @DisplayName("Testing files with \\r\\n and \\r line ends")
+        public void testLineEnds() throws IOException {
+            String orders = "ID,Customer,RequestedParts\n1,Al,(1 2)\n2,Bo,(3 1)-(4 2)\n\n";
+            String parts = "ID,PartName,Weight,WeightError,Period,ChanceOfDefective\n1,Engine Block,250,5,1,5\n3,Brake Caliper,10,1,3,5\n";
+            for (String end : new String[] {"\r\n", "\r"}) {
+                CarPartFactory read = new CarPartFactory(inputFile(orders.replace("\n", end)), inputFile(parts.replace("\n", end)));
+                assertAll(
+                    () -> assertEquals(2, read.getOrders().size(), "Read the wrong amount of orders."),
+                    () -> assertEquals("Bo", read.getOrders().get(1).getCustomerName(), "Read the wrong customer name."),
+                    () -> assertEquals(2, read.getOrders().get(1).getRequestedParts().get(4), "Read the wrong requested quantity."),
+                    () -> assertEquals(2, read.getMachines().size(), "Read the wrong amount of machines."),
+                    () -> assertEquals("Brake Caliper", read.getMachines().get(1).getPart().getName(), "Read the wrong part name.")
+                );
+            }
+            String malformed = inputFile("ID,Customer,RequestedParts\r1,Al,(1 2)\r2,Bo,x\r");
+            CsvFormatException error = assertThrows(CsvFormatException.class, () -> new CarPartFactory(malformed, "input/parts.csv"), "Didn't report the malformed order.");
+            assertEquals("Line 3, column 6: expected a number but found 'x'", error.getMessage(), "Didn't count \\r as a line end.");
+        }
+        
+        @Test
+        @DisplayName("Testing extra columns are ignored")
+        public void testExtraColumns() throws IOException {
+            String orders = inputFile("ID,Customer,RequestedParts,Notes\n1,Al,(1 2),rush\n2,Bo,(1 1)\n");
+            String parts = inputFile("ID,PartName,Weight,WeightError,Period,ChanceOfDefective,Notes\n1,Engine Block,250,5,1,5,new\n");
+            CarPartFactory read = new CarPartFactory(orders, parts);
+            assertAll(
+                () -> assertEquals(2, read.getOrders().size(), "Read the wrong amount of orders."),
+                () -> assertEquals(2, read.getOrders().get(0).getRequestedParts().get(1), "Read the wrong requested quantity."),
+                () -> assertEquals(1, read.getMachines().size(), "Read the wrong amount of machines."),
+                () -> assertEquals(5, read.getMachines().get(0).getChanceOfDefective(), "Read the wrong chance of defective.")
+            );
+        }
+        
+        @Test
+        @DisplayName("Testing memory mapped loading reads the same orders as the sequential one")
+        public void testMappedLoadingEquivalence() throws IOException {
+            // Between 3MB and 4MB the loader cuts the file in 4 chunks at size / 4 * i, moved to the next line
+            int chunks = 4;
+            String header = "ID,Customer,RequestedParts";
+            StringBuilder orders = new StringBuilder();
+            int[] quoteStart = new int[52000];
+            int[] quoteEnd = new int[quoteStart.length];
+            for (int id = 0; id < quoteStart.length; id++) {
+                orders.append(id + 1).append(',');
+                quoteStart[id] = orders.length();
+                orders.append("\"Customer ").append(id + 1).append(" of the very long orders file\"");
+                quoteEnd[id] = orders.length();
+                orders.append(",(").append(id % 20 + 1).append(' ').append(id % 7 + 1).append(")-(")
+                      .append((id + 9) % 20 + 1).append(' ').append(id % 3 + 1).append(")\n");
+            }
+            // Lengthen the header until every cut lands inside a customer's quotes
+            boolean insideQuotes = false;
+            while (!insideQuotes) {
+                header += " ";
+                int offset = header.length() + 1;
+                long size = offset + orders.length();
+                insideQuotes = true;
+                for (int i = 1; i < chunks; i++) {
+                    long cut = size / chunks * i - offset;
+                    int line = 0;
+                    while (quoteEnd[line] < cut) {
+                        line++;
+                    }
+                    insideQuotes &= quoteStart[line] < cut && cut < quoteEnd[line] - 1;
+                }
+            }
+            String file = inputFile(header + "\n" + orders);
+            long size = Files.size(Paths.get(file));
+            assertTrue(size > 3 << 20 && size <= 4 << 20, "The orders file should take 4 chunks.");
+            
+            CarPartFactory sequential = new CarPartFactory(file, "input/parts.csv");
+            CarPartFactory mapped = new CarPartFactory(file, "input/parts.csv");
+            ForkJoinPool pool = new ForkJoinPool(2);
+            mapped.getOrders().clear();
+            mapped.setPool(pool);
+            mapped.setupOrders(file, true);
+            pool.shutdown();
+            
+            assertEquals(sequential.getOrders().size(), mapped.getOrders().size(), "Read a different amount of orders.");
+            for (int i = 0; i < sequential.getOrders().size(); i++) {
+                Order expected = sequential.getOrders().get(i);
+                Order actual = mapped.getOrders().get(i);
+                assertEquals(expected.getId(), actual.getId(), "Read the orders in a different order.");
+                assertEquals(expected.getCustomerName(), actual.getCustomerName(), "Read a different customer name.");
+                assertEquals(expected.getRequestedParts().size(), actual.getRequestedParts().size(), "Read different requested parts.");
+                for (Entry<Integer, Integer> requested : expected.getRequestedParts().entries()) {
+                    assertEquals(requested.getValue(), actual.getRequestedParts().get(requested.getKey()), "Read different requested parts.");
+                }
+            }
+        }
+    }
+    @Nested
+    @DisplayName("Simulation Engine Tests")
+    public class TestSimulationEngines {
+
+        @Test
+        @DisplayName("Testing event-driven engine gives the same results as the minute loop")
+        public void testEventDrivenEquivalence() throws IOException {
+            CarPartFactory ticking = seededFactory();
+            CarPartFactory eventDriven = seededFactory();
+            eventDriven.setEventDriven(true);
+            ticking.runFactory(3, 95);
+            eventDriven.runFactory(3, 95);
+            assertSameOutcome(ticking, eventDriven);
+
+            for (int i = 0; i < ticking.getMachines().size(); i++) {
+                assertEquals(ticking.getMachines().get(i).getTimer().front(), eventDriven.getMachines().get(i).getTimer().front(), "Left the timer in a different state.");
+            }
+        }
+
+        @Test
+        @DisplayName("Testing parallel run gives the same results as the sequential one")
+        public void testParallelEquivalence() throws IOException {
+            CarPartFactory sequential = seededFactory();
+            CarPartFactory parallel = seededFactory();
+            parallel.setParallel(true);
+            RecordingBin sequentialBin = new RecordingBin();
+            RecordingBin parallelBin = new RecordingBin();
+            sequential.setProductionBin(sequentialBin);
+            parallel.setProductionBin(parallelBin);
+            sequential.runFactory(2, 120);
+            parallel.runFactory(2, 120);
+            assertSameOutcome(sequential, parallel);
+
+            assertEquals(sequentialBin.pushed.size(), parallelBin.pushed.size(), "Pushed a different amount of parts.");
+            for (int i = 0; i < sequentialBin.pushed.size(); i++) {
+                CarPart expected = sequentialBin.pushed.get(i);
+                CarPart actual = parallelBin.pushed.get(i);
+                assertEquals(expected.getId(), actual.getId(), "Pushed the parts in a different order.");
+                assertEquals(expected.getWeight(), actual.getWeight(), "Pushed the parts in a different order.");
+            }
+            for (PartMachine machine : sequential.getMachines()) {
+                List<CarPart> expected = sequential.getInventory().get(machine.getPart().getId());
+                List<CarPart> actual = parallel.getInventory().get(machine.getPart().getId());
+                for (int i = 0; i < expected.size(); i++) {
+                    assertEquals(expected.get(i).getWeight(), actual.get(i).getWeight(), "Stored a different part.");
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Testing replications depend only on their seed")
+        public void testReplicationSeeds() throws IOException {
+            ReplicationRunner runner = new ReplicationRunner(seededFactory(), ForkJoinPool.commonPool());
+            ReplicationRunner.Summary first = runner.run(3, 7, 2, 60);
+            ReplicationRunner.Summary again = runner.run(3, 7, 2, 60);
+            ReplicationRunner.Summary other = runner.run(3, 8, 2, 60);
+            boolean seedsDiffer = false;
+            for (int machine = 0; machine < first.getMachineCount(); machine++) {
+                for (int replica = 0; replica < 3; replica++) {
+                    assertEquals(first.getProduced(machine).getSample(replica), again.getProduced(machine).getSample(replica), "Same seed produced a different amount of parts.");
+                    assertEquals(first.getInventoryWeight(machine).getSample(replica), again.getInventoryWeight(machine).getSample(replica), "Same seed gave a different inventory weight.");
+                    seedsDiffer |= first.getInventoryWeight(machine).getSample(replica) != other.getInventoryWeight(machine).getSample(replica);
+                }
+            }
+            assertEquals(first.getFulfilledOrders().getMean(), again.getFulfilledOrders().getMean(), "Same seed fulfilled a different amount of orders.");
+            assertTrue(seedsDiffer, "Different seeds gave the same inventory weights.");
+            assertTrue(first.getInventoryWeight(0).getSample(0) != first.getInventoryWeight(0).getSample(1), "Replicas of one run gave the same inventory weight.");
+        }
+
+        /**
+         * Production bin that remembers every part pushed into it, in order.
+         */
+        private class RecordingBin extends ArrayStack<CarPart> {
+            private List<CarPart> pushed = new ArrayList<>();
+
+            @Override
+            public void push(CarPart part) {
+                pushed.add(part);
+                super.push(part);
+            }
+
+            @Override
+            public void pushAll(CarPart[] parts, int from, int to) {
+                for (int i = from; i < to; i++) {
+                    push(parts[i]);
+                }
+            }
+        }
     }
     
 